@@ -28,4 +28,15 @@ public interface IPathNavigator {
     boolean hasNoPath();
 
     boolean isGoingToTeleport();
+
+    /**
+     * Check if the most recent move could not be started after all. Paths may be computed off-thread, in which case
+     * {@link #moveToXYZ(double, double, double)} returns true while the path is pending; if no path is then found (and
+     * the drone won't teleport), this returns true, and the navigator will have no path, rather than having arrived.
+     *
+     * @return true if the last requested path turned out not to exist
+     */
+    default boolean isPathFailed() {
+        return false;
+    }
 }
@@ -116,6 +116,19 @@ public abstract class HeatBehaviour implements INBTSerializable<CompoundTag> {
      */
     public abstract void tick();
 
+    /**
+     * Called when the owning heat exchanger's neighbours are rescanned, and this behaviour replaces an equal
+     * behaviour (same ID and position) which was already in use. Use this to carry over any runtime state.
+     * <p>
+     * The default implementation does an NBT round trip via {@link #serializeNBT()} and {@link #deserializeNBT(CompoundTag)};
+     * behaviours which have no extra state, or which can copy it directly, should override this to avoid that cost.
+     *
+     * @param oldBehaviour the behaviour being replaced; always of the same class as this one
+     */
+    public void transferStateFrom(HeatBehaviour oldBehaviour) {
+        deserializeNBT(oldBehaviour.serializeNBT());
+    }
+
     @Override
     public CompoundTag serializeNBT() {
         CompoundTag tag = new CompoundTag();
@@ -109,7 +109,9 @@ public interface IAirHandlerMachine extends IAirHandler, IManoMeasurable {
     Direction getSideLeaking();
 
     /**
-     * Get a list of all air handlers connected to this one.
+     * Get a list of all air handlers connected to this one. Note that the returned list (and the connection objects
+     * in it) may be reused by the air handler to avoid creating garbage every tick, so it should be used immediately
+     * and not retained.
      *
      * @param ownerTE the owning block entity
      * @return a list of all connected air handlers
@@ -20,7 +20,9 @@ package me.desht.pneumaticcraft.api.tileentity;
 import net.minecraft.core.Direction;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Optionally implement this in your TileEntity to gain extra control over pneumatic behaviour.
@@ -60,4 +62,29 @@ public interface IAirListener {
     default List<IAirHandlerMachine> addConnectedPneumatics(List<IAirHandlerMachine> airHandlers) {
         return airHandlers;
     }
+
+    /**
+     * Non-allocating variant of {@link #addConnectedPneumatics(List)}, which is called every server tick during air
+     * dispersal. Pass each extra connected air handler to the given consumer; implementations should avoid creating
+     * any new objects here. The default implementation delegates to {@link #addConnectedPneumatics(List)}, so
+     * existing implementations continue to work unchanged, but without the allocation savings.
+     *
+     * @param consumer receives each extra connected air handler
+     */
+    default void forEachConnectedPneumatic(Consumer<IAirHandlerMachine> consumer) {
+        addConnectedPneumatics(new ArrayList<>()).forEach(consumer);
+    }
+
+    /**
+     * Check if the given air handler may be merged into a shared pressure network (if pressure networks are enabled
+     * in config). Air in a pressure network is equalised as a single pool, so {@link #onAirDispersion(IAirHandlerMachine, Direction, int)}
+     * and {@link #getMaxDispersion(IAirHandlerMachine, Direction)} are not called for dispersal between members of
+     * the same network. Only return true if this listener neither limits nor monitors air flow for the handler.
+     *
+     * @param handler the air handler in question
+     * @return true if the handler may join a pressure network, false otherwise
+     */
+    default boolean canJoinPressureNetwork(IAirHandlerMachine handler) {
+        return false;
+    }
 }
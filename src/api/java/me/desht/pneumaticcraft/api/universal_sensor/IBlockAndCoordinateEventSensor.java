@@ -43,4 +43,25 @@ public interface IBlockAndCoordinateEventSensor extends IBaseSensor {
      * @return a redstone pulse length, in ticks
      */
     int getRedstonePulseLength();
+
+    /**
+     * See {@link IEventSensorSetting#getEventTypes()}
+     *
+     * @return the event types; by default, all of them
+     */
+    default Set<Class<? extends Event>> getEventTypes() {
+        return IEventSensorSetting.ALL_EVENT_TYPES;
+    }
+
+    /**
+     * Check if this sensor only reacts to events involving one of its GPS-selected positions (which are always within
+     * the sensor's range). If so, the sensor will not be passed events which happen further away: for a
+     * {@link net.minecraftforge.event.entity.player.PlayerInteractEvent}, this is judged by the event's position,
+     * and for other events, by the player's position, allowing for the player's reach.
+     *
+     * @return true if the sensor is range-limited; false by default
+     */
+    default boolean isRangeLimited() {
+        return false;
+    }
 }
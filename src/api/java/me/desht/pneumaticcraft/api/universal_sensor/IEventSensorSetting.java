@@ -23,7 +23,14 @@ import net.minecraftforge.event.entity.player.EntityItemPickupEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 import net.minecraftforge.eventbus.api.Event;
 
+import java.util.Set;
+
 public interface IEventSensorSetting extends ISensorSetting {
+    /**
+     * All the Forge event types which event sensors can react to.
+     */
+    Set<Class<? extends Event>> ALL_EVENT_TYPES = Set.of(PlayerInteractEvent.class, EntityItemPickupEvent.class, AttackEntityEvent.class);
+
     /**
      * This method is called when a Forge event of interest is triggered.  Events of interest are:
      * <ul>
@@ -45,4 +52,24 @@ public interface IEventSensorSetting extends ISensorSetting {
      * @return a redstone pulse length, in ticks
      */
     int getRedstonePulseLength();
+
+    /**
+     * Get the event types which this sensor reacts to; the sensor will not be passed events of any other type. Each
+     * type must be one of the events listed in {@link #emitRedstoneOnEvent(Event, BlockEntity, int, String)}.
+     *
+     * @return the event types; by default, all of them
+     */
+    default Set<Class<? extends Event>> getEventTypes() {
+        return ALL_EVENT_TYPES;
+    }
+
+    /**
+     * Check if this sensor only reacts to events caused by a player within the sensor's range. If so, the sensor will
+     * not be passed events caused by players further away.
+     *
+     * @return true if the sensor is range-limited; false by default
+     */
+    default boolean isRangeLimited() {
+        return false;
+    }
 }
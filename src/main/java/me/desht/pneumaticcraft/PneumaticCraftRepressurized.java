@@ -49,6 +49,7 @@ import me.desht.pneumaticcraft.common.thirdparty.ModNameCache;
 import me.desht.pneumaticcraft.common.thirdparty.ThirdPartyManager;
 import me.desht.pneumaticcraft.common.util.PlayerFilter;
 import me.desht.pneumaticcraft.common.util.Reflections;
+import me.desht.pneumaticcraft.common.util.ThreadedSorter;
 import me.desht.pneumaticcraft.common.util.upgrade.UpgradesDBSetup;
 import me.desht.pneumaticcraft.common.villages.VillageStructures;
 import me.desht.pneumaticcraft.common.worldgen.WorldGenListener;
@@ -187,6 +188,8 @@ public class PneumaticCraftRepressurized {
 
         // if we're on single-player, reset is needed here to stop world-specific configs crossing worlds
         AuxConfigHandler.clearPerWorldConfigs();
+
+        ThreadedSorter.shutdown();
     }
 
     @Mod.EventBusSubscriber(modid = Names.MOD_ID, bus = Mod.EventBusSubscriber.Bus.MOD)
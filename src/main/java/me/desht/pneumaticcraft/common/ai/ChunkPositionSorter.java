@@ -20,6 +20,8 @@ package me.desht.pneumaticcraft.common.ai;
 import me.desht.pneumaticcraft.common.progwidgets.IBlockOrdered.Ordering;
 import me.desht.pneumaticcraft.common.util.PneumaticCraftUtils;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.Mth;
 import net.minecraft.world.phys.Vec3;
 
 import java.util.Comparator;
@@ -51,6 +53,49 @@ public class ChunkPositionSorter implements Comparator<BlockPos> {
         this.z = z;
     }
 
+    /**
+     * Get a comparator for chunk section keys (see {@link SectionPos#asLong()}), which orders sections by the best
+     * position any of them could possibly contain, according to this sorter's ordering.
+     *
+     * @return a section key comparator
+     */
+    public Comparator<Long> sectionOrder() {
+        return (k1, k2) -> {
+            if (order != Ordering.CLOSEST) {
+                int y1 = bestY(k1), y2 = bestY(k2);
+                if (y1 != y2) return order == Ordering.HIGH_TO_LOW ? y2 - y1 : y1 - y2;
+            }
+            return Double.compare(minDistSq(k1), minDistSq(k2));
+        };
+    }
+
+    /**
+     * Check if the given position sorts no later than every position in the given chunk section could.
+     *
+     * @param pos the position
+     * @param sectionKey the section key, as returned by {@link SectionPos#asLong()}
+     * @return true if no position in the section can sort before the given position
+     */
+    public boolean isBeforeSection(BlockPos pos, long sectionKey) {
+        if (order != Ordering.CLOSEST) {
+            int sy = bestY(sectionKey);
+            if (pos.getY() != sy) return order == Ordering.HIGH_TO_LOW ? pos.getY() > sy : pos.getY() < sy;
+        }
+        return PneumaticCraftUtils.distBetweenSq(pos.getX(), pos.getY(), pos.getZ(), x, y, z) <= minDistSq(sectionKey);
+    }
+
+    private int bestY(long sectionKey) {
+        int y0 = SectionPos.sectionToBlockCoord(SectionPos.y(sectionKey));
+        return order == Ordering.HIGH_TO_LOW ? y0 + 15 : y0;
+    }
+
+    private double minDistSq(long sectionKey) {
+        int x0 = SectionPos.sectionToBlockCoord(SectionPos.x(sectionKey));
+        int y0 = SectionPos.sectionToBlockCoord(SectionPos.y(sectionKey));
+        int z0 = SectionPos.sectionToBlockCoord(SectionPos.z(sectionKey));
+        return PneumaticCraftUtils.distBetweenSq(Mth.clamp(x, x0, x0 + 15), Mth.clamp(y, y0, y0 + 15), Mth.clamp(z, z0, z0 + 15), x, y, z);
+    }
+
     @Override
     public int compare(BlockPos c1, BlockPos c2) {
         if (order != Ordering.CLOSEST && c1.getY() != c2.getY()) {
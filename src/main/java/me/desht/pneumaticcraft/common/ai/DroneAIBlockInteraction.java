@@ -17,6 +17,8 @@
 
 package me.desht.pneumaticcraft.common.ai;
 
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
 import me.desht.pneumaticcraft.common.core.ModUpgrades;
 import me.desht.pneumaticcraft.common.network.NetworkHandler;
 import me.desht.pneumaticcraft.common.network.PacketSpawnIndicatorParticles;
@@ -26,23 +28,29 @@ import me.desht.pneumaticcraft.common.progwidgets.IBlockOrdered;
 import me.desht.pneumaticcraft.common.progwidgets.IBlockOrdered.Ordering;
 import me.desht.pneumaticcraft.common.progwidgets.ISidedWidget;
 import me.desht.pneumaticcraft.common.progwidgets.ProgWidgetAreaItemBase;
+import me.desht.pneumaticcraft.common.progwidgets.area.AreaSet;
 import me.desht.pneumaticcraft.common.util.DirectionUtil;
 import me.desht.pneumaticcraft.common.util.ThreadedSorter;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.EquipmentSlot;
 import net.minecraft.world.entity.ai.goal.Goal;
 import net.minecraft.world.level.CollisionGetter;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.LiquidBlock;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
 import net.minecraft.world.level.pathfinder.PathComputationType;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.function.Predicate;
 
 public abstract class DroneAIBlockInteraction<W extends ProgWidgetAreaItemBase> extends Goal {
     private static final int MAX_LOOKUPS_PER_SEARCH = 30;
@@ -52,16 +60,18 @@ public abstract class DroneAIBlockInteraction<W extends ProgWidgetAreaItemBase>
     protected final W progWidget;
     private final Ordering order;
     private BlockPos curPos;
-    private final List<BlockPos> area;
+    private final AreaSet area;
     final CollisionGetter worldCache;
     private final List<BlockPos> blacklist = new ArrayList<>(); //a list of position which weren't allowed to be dug in the past.
+    private final Long2LongMap noCandidateSections = new Long2LongOpenHashMap(); // section key -> game time it was found to have no candidates
     private int curY;
     private int lastSuccessfulY;
     private int minY, maxY;
-    private ThreadedSorter<BlockPos> sorter;
+    private ThreadedSorter<Long> sorter;  // sorts the area's chunk sections
+    private ChunkPositionSorter posSorter;
+    private SortedAreaIterator searchIter; // iterates the area in order, while searching
     private boolean aborted;
     private boolean searching; // True while the drone is searching for a coordinate, false if traveling to or processing a coordinate.
-    private int searchIndex;   // The current index in the area list the drone is searching at.
     private int totalActions;
     private int maxActions = -1;
 
@@ -74,7 +84,7 @@ public abstract class DroneAIBlockInteraction<W extends ProgWidgetAreaItemBase>
         setFlags(EnumSet.allOf(Flag.class)); // exclusive to all other AI tasks
         this.progWidget = progWidget;
         order = progWidget instanceof IBlockOrdered ? ((IBlockOrdered) progWidget).getOrder() : Ordering.CLOSEST;
-        area = progWidget.getCachedAreaList();
+        area = progWidget.getCachedAreaSet();
         worldCache = progWidget.getChunkCache(drone.world());
 
         AABB extents = progWidget.getAreaExtents();
@@ -101,9 +111,10 @@ public abstract class DroneAIBlockInteraction<W extends ProgWidgetAreaItemBase>
                 searching = true;
                 lastSuccessfulY = curY;
                 curPos = null;
-                searchIndex = 0;
+                searchIter = null;
                 if (sorter == null || sorter.isDone()) {
-                    sorter = new ThreadedSorter<>(area, new ChunkPositionSorter(drone, order));
+                    posSorter = new ChunkPositionSorter(drone, order);
+                    sorter = new ThreadedSorter<>(area.getSectionKeys(), posSorter.sectionOrder());
                 }
                 return true;
             } else {
@@ -113,7 +124,7 @@ public abstract class DroneAIBlockInteraction<W extends ProgWidgetAreaItemBase>
     }
 
     private void updateY() {
-        searchIndex = 0;
+        searchIter = null;
         if (order == Ordering.LOW_TO_HIGH) {
             if (++curY > maxY) curY = minY;
         } else if (order == Ordering.HIGH_TO_LOW) {
@@ -141,6 +152,44 @@ public abstract class DroneAIBlockInteraction<W extends ProgWidgetAreaItemBase>
      */
     protected abstract boolean isValidPosition(BlockPos pos);
 
+    /**
+     * Get a filter for block states which could possibly be valid for this operation, regardless of their position or
+     * any other context. When a filter is returned, whole chunk sections which contain no matching block state at all
+     * are skipped while searching, without calling {@link #isValidPosition(BlockPos)} for their positions.
+     *
+     * @return a block state filter, or null to search every position in the area
+     */
+    @Nullable
+    protected Predicate<BlockState> getCandidateStateFilter() {
+        return null;
+    }
+
+    private boolean mayContainCandidates(long sectionKey) {
+        Predicate<BlockState> filter = getCandidateStateFilter();
+        if (filter == null) return true;
+
+        Level level = drone.world();
+        long checked = noCandidateSections.getOrDefault(sectionKey, -1L);
+        if (checked >= 0 && SectionChangeTracker.isUnchangedSince(level, sectionKey, checked)) {
+            return false;
+        }
+
+        boolean found = true;
+        if (worldCache.getChunkForCollisions(SectionPos.x(sectionKey), SectionPos.z(sectionKey)) instanceof ChunkAccess chunk) {
+            int idx = chunk.getSectionIndexFromSectionY(SectionPos.y(sectionKey));
+            if (idx >= 0 && idx < chunk.getSectionsCount()) {
+                found = chunk.getSection(idx).getStates().maybeHas(filter);
+            }
+        }
+        if (found) {
+            noCandidateSections.remove(sectionKey);
+        } else {
+            SectionChangeTracker.watch(level, sectionKey);
+            noCandidateSections.put(sectionKey, level.getGameTime());
+        }
+        return found;
+    }
+
     /**
      * Carry out the actual interaction operation.  Beware the return value: returning false is usually the right
      * thing to do when the operation succeeded, to indicate to the drone that it shouldn't keep trying this, but
@@ -159,16 +208,16 @@ public abstract class DroneAIBlockInteraction<W extends ProgWidgetAreaItemBase>
     public boolean canContinueToUse() {
         if (aborted) return false;
         if (searching) {
-            if (!sorter.isDone()) return true; // wait until the area is sorted according to the given ordering
+            if (!sorter.isDone()) return true; // wait until the area's sections are sorted according to the given ordering
 
             boolean firstRun = true;
             int searchedBlocks = 0; // tracks the number of inspected blocks; stop searching when MAX_LOOKUPS_PER_SEARCH is reached
             while (curPos == null && curY != lastSuccessfulY && order != Ordering.CLOSEST || firstRun) {
                 firstRun = false;
                 List<BlockPos> inspectedPositions = new ArrayList<>();
-                while (!shouldAbort() && searchIndex < area.size()) {
-                    BlockPos pos = area.get(searchIndex);
-                    searchIndex++;
+                if (searchIter == null) searchIter = new SortedAreaIterator(area, sorter.getResult(), posSorter, this::mayContainCandidates);
+                while (!shouldAbort() && searchIter.hasNext()) {
+                    BlockPos pos = searchIter.next();
                     if (isYValid(pos.getY()) && !blacklist.contains(pos) && (!respectClaims() || !DroneClaimManager.getInstance(drone.world()).isClaimed(pos))) {
                         if (!drone.getDebugger().getDebuggingPlayers().isEmpty()) inspectedPositions.add(pos);
                         if (isValidPosition(pos)) {
@@ -211,6 +260,14 @@ public abstract class DroneAIBlockInteraction<W extends ProgWidgetAreaItemBase>
                 if (!moveToPositions() || distSq < (moveIntoBlock() ? 1 : 4)) {  // 1 or 2 blocks
                     return doBlockInteraction(curPos, distSq);
                 }
+                if (drone.getPathNavigator().isPathFailed()) {
+                    // the path turned out not to exist; carry on searching, as if the move had failed straight away
+                    drone.getDebugger().addEntry("pneumaticcraft.gui.progWidget.general.debug.cantNavigate", curPos);
+                    curPos = null;
+                    searching = true;
+                    totalActions--;
+                    return true;
+                }
             }
             // if we end up here, we're either still travelling (return true) or have nowhere to go (return false)
             return !drone.getPathNavigator().hasNoPath();
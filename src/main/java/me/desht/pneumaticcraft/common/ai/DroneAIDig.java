@@ -36,6 +36,7 @@ import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 public class DroneAIDig<W extends ProgWidgetAreaItemBase & IToolUser> extends DroneAIBlockInteraction<W> {
     public DroneAIDig(IDroneBase drone, W widget) {
@@ -63,6 +64,11 @@ public class DroneAIDig<W extends ProgWidgetAreaItemBase & IToolUser> extends Dr
         return false;
     }
 
+    @Override
+    protected Predicate<BlockState> getCandidateStateFilter() {
+        return state -> !ignoreBlock(state);
+    }
+
     @Override
     protected boolean respectClaims() {
         return true;
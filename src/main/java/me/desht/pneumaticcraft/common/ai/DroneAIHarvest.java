@@ -31,6 +31,7 @@ import net.minecraft.world.level.block.state.BlockState;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class DroneAIHarvest<W extends ProgWidgetAreaItemBase & IToolUser> extends DroneAIBlockInteraction<W> {
     public DroneAIHarvest(IDroneBase drone, W widget) {
@@ -72,6 +73,11 @@ public class DroneAIHarvest<W extends ProgWidgetAreaItemBase & IToolUser> extend
         return droppedStacks.stream().anyMatch(droppedStack -> progWidget.isItemValidForFilters(droppedStack, blockState));
     }
 
+    @Override
+    protected Predicate<BlockState> getCandidateStateFilter() {
+        return state -> !state.isAir();
+    }
+
     @Override
     protected boolean respectClaims() {
         return true;
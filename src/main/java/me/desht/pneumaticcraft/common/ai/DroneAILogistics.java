@@ -17,17 +17,13 @@
 
 package me.desht.pneumaticcraft.common.ai;
 
-import me.desht.pneumaticcraft.api.semiblock.ISemiBlock;
 import me.desht.pneumaticcraft.common.ai.LogisticsManager.LogisticsTask;
 import me.desht.pneumaticcraft.common.core.ModProgWidgets;
-import me.desht.pneumaticcraft.common.entity.semiblock.AbstractLogisticsFrameEntity;
 import me.desht.pneumaticcraft.common.progwidgets.ILiquidExport;
 import me.desht.pneumaticcraft.common.progwidgets.ILiquidFiltered;
 import me.desht.pneumaticcraft.common.progwidgets.ProgWidgetAreaItemBase;
 import me.desht.pneumaticcraft.common.progwidgets.ProgWidgetInventoryBase;
-import me.desht.pneumaticcraft.common.semiblock.SemiblockTracker;
 import me.desht.pneumaticcraft.common.util.DirectionUtil;
-import me.desht.pneumaticcraft.common.util.StreamUtils;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.resources.ResourceLocation;
@@ -35,20 +31,19 @@ import net.minecraft.world.entity.ai.goal.Goal;
 import net.minecraft.world.item.DyeColor;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.material.Fluid;
-import net.minecraft.world.phys.AABB;
 import net.minecraftforge.fluids.FluidStack;
 
 import javax.annotation.Nonnull;
 import java.util.HashSet;
 import java.util.PriorityQueue;
 import java.util.Set;
-import java.util.stream.Stream;
 
 public class DroneAILogistics extends Goal {
     private Goal curAI;
     private final IDroneBase drone;
     private final ProgWidgetAreaItemBase widget;
     private LogisticsTask curTask;
+    private LogisticsManager manager;
 
     public DroneAILogistics(IDroneBase drone, ProgWidgetAreaItemBase widget) {
         this.drone = drone;
@@ -56,32 +51,30 @@ public class DroneAILogistics extends Goal {
     }
 
     private LogisticsManager getLogisticsManager() {
-        if (drone.getLogisticsManager() == null) {
-            // note: this is an expensive operation!  hence we cache the logistics manager object in the drone
+        if (manager == null) {
+            // managers are shared between all drones working the same area, and kept up to date as frames come and go
+            // the drone holds a reference too, which keeps the shared manager alive while the drone runs
             Set<BlockPos> area = widget.getCachedAreaSet();
             if (!area.isEmpty()) {
-                AABB aabb = widget.getAreaExtents();
-                Stream<ISemiBlock> semiBlocksInArea = SemiblockTracker.getInstance().getSemiblocksInArea(drone.world(), aabb);
-                Stream<AbstractLogisticsFrameEntity> logisticFrames = StreamUtils.ofType(AbstractLogisticsFrameEntity.class, semiBlocksInArea);
-                LogisticsManager manager = new LogisticsManager();
-                logisticFrames.filter(frame -> area.contains(frame.getBlockPos())).forEach(manager::addLogisticFrame);
+                manager = LogisticsNetworks.getManager(drone.world(), area, widget.getAreaExtents());
                 drone.setLogisticsManager(manager);
             }
         }
-        return drone.getLogisticsManager();
+        return manager;
     }
 
     @Override
     public boolean canUse() {
         if (getLogisticsManager() == null) return false;
         curTask = null;
+        manager.release(drone);
         return doLogistics();
     }
 
     private boolean doLogistics() {
         ItemStack item = drone.getInv().getStackInSlot(0);
         FluidStack fluid = drone.getFluidTank().getFluid();
-        PriorityQueue<LogisticsTask> tasks = getLogisticsManager().getTasks(item.isEmpty() ? fluid : item, true);
+        PriorityQueue<LogisticsTask> tasks = getLogisticsManager().getTasks(item.isEmpty() ? fluid : item, true, drone);
         if (tasks.size() > 0) {
             curTask = tasks.poll();
             return execute(curTask);
@@ -115,6 +108,7 @@ public class DroneAILogistics extends Goal {
             return true;
         } else {
             curTask = null;
+            manager.release(drone);
             return doLogistics();
         }
     }
@@ -139,6 +133,12 @@ public class DroneAILogistics extends Goal {
         }
         if (curAI.canUse()) {
             task.informRequester();
+            if (curAI instanceof DroneEntityAIInventoryImport || curAI instanceof DroneAILiquidImport) {
+                // collecting from the provider: make sure no other drone goes for the same stuff
+                manager.reserve(drone, task);
+            } else {
+                manager.release(drone);
+            }
             return true;
         } else {
             return false;
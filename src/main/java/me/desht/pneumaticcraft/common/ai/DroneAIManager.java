@@ -18,6 +18,7 @@
 package me.desht.pneumaticcraft.common.ai;
 
 import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import me.desht.pneumaticcraft.api.drone.SpecialVariableRetrievalEvent;
 import me.desht.pneumaticcraft.common.config.ConfigHelper;
 import me.desht.pneumaticcraft.common.core.ModUpgrades;
@@ -65,6 +66,7 @@ public class DroneAIManager implements IVariableProvider {
     private Map<String, BlockPos> coordinateVariables = new HashMap<>();
     private Map<String, ItemStack> itemVariables = new HashMap<>();
     private final Deque<IProgWidget> jumpBackWidgets = new ArrayDeque<>(); // Used to jump back to a foreach widget.
+    private final Set<IProgWidget> visitedWidgets = new ReferenceOpenHashSet<>(); // reused by setActiveWidget()
 
     private static final int MAX_JUMP_STACK_SIZE = 100;
 
@@ -91,6 +93,7 @@ public class DroneAIManager implements IVariableProvider {
 
     public void setWidgets(List<IProgWidget> progWidgets) {
         this.progWidgets = ImmutableList.copyOf(progWidgets);
+        CompiledProgram.of(this.progWidgets);  // resolve jump targets up front
         this.jumpBackWidgets.clear();
         if (progWidgets.isEmpty()) {
             setActiveWidget(null);
@@ -250,9 +253,8 @@ public class DroneAIManager implements IVariableProvider {
             boolean isStartWidget = widget == startWidget;
             targetGoal = widget.getWidgetTargetAI(drone, widget);
             goal = widget.getWidgetAI(drone, widget);
-            Set<IProgWidget> visitedWidgets = new HashSet<>();//Prevent endless loops
-            while (!visitedWidgets.contains(widget) && targetGoal == null && goal == null) {
-                visitedWidgets.add(widget);
+            visitedWidgets.clear();  // prevent endless loops
+            while (visitedWidgets.add(widget) && targetGoal == null && goal == null) {
                 IProgWidget oldWidget = widget;
                 widget = widget.getOutputWidget(drone, progWidgets);
                 if (widget == null) {
@@ -72,6 +72,10 @@ public class DroneEntityAIGoToLocation extends Goal {
      */
     @Override
     public boolean canContinueToUse() {
+        if (drone.getPathNavigator().isPathFailed()) {
+            // no path after all; choose again, as canUse() would have done if the path had been found synchronously
+            return canUse();
+        }
         return !drone.getPathNavigator().hasNoPath();
     }
 }
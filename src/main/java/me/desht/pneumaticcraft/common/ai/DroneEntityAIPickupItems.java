@@ -123,6 +123,10 @@ public class DroneEntityAIPickupItems extends Goal {
             }
             return false;
         }
+        if (drone.getPathNavigator().isPathFailed()) {
+            // couldn't get to the item after all; look again (the item we failed to reach is refused for a while)
+            return canUse();
+        }
         return !drone.getPathNavigator().hasNoPath();
     }
 
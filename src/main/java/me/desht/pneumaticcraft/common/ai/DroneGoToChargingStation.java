@@ -26,6 +26,8 @@ import me.desht.pneumaticcraft.common.entity.drone.DroneEntity;
 import me.desht.pneumaticcraft.common.util.GlobalTileEntityCacheManager;
 import me.desht.pneumaticcraft.common.util.PneumaticCraftUtils;
 import me.desht.pneumaticcraft.lib.PneumaticValues;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.world.entity.ai.goal.Goal;
 import net.minecraft.world.phys.Vec3;
 
@@ -35,6 +37,8 @@ import java.util.EnumSet;
 import java.util.List;
 
 public class DroneGoToChargingStation extends Goal {
+    private static final int MAX_CHUNK_LOOKUPS = 1024;
+
     private final DroneEntity drone;
     public boolean isExecuting;
     private ChargingStationBlockEntity curCharger;
@@ -53,21 +57,20 @@ public class DroneGoToChargingStation extends Goal {
         List<ChargingStationBlockEntity> validChargingStations = new ArrayList<>();
         drone.getCapability(PNCCapabilities.AIR_HANDLER_CAPABILITY).ifPresent(h -> {
             if (h.getPressure() < PneumaticValues.DRONE_LOW_PRESSURE) {
-                int maxDistSq = ConfigHelper.common().drones.maxDroneChargingStationSearchRange.get()
-                        * ConfigHelper.common().drones.maxDroneChargingStationSearchRange.get();
-                for (ChargingStationBlockEntity station : GlobalTileEntityCacheManager.getInstance().chargingStations) {
-                    if (station.getLevel() == drone.level && drone.distanceToSqr(Vec3.atCenterOf(station.getBlockPos())) <= maxDistSq) {
+                int range = ConfigHelper.common().drones.maxDroneChargingStationSearchRange.get();
+                int maxDistSq = range * range;
+                for (ChargingStationBlockEntity station : findReadyStations(range)) {
+                    if (drone.distanceToSqr(Vec3.atCenterOf(station.getBlockPos())) <= maxDistSq) {
                         if (DroneClaimManager.getInstance(drone.level).isClaimed(station.getBlockPos())) {
                             drone.getDebugger().addEntry("pneumaticcraft.gui.progWidget.chargingStation.debug.claimed", station.getBlockPos());
-                        } else if (station.getPressure() <= PneumaticValues.DRONE_LOW_PRESSURE) {
-                            drone.getDebugger().addEntry("pneumaticcraft.gui.progWidget.chargingStation.debug.notEnoughPressure", station.getBlockPos());
-                        } else if (station.getUpgrades(ModUpgrades.DISPENSER.get()) == 0) {
-                            drone.getDebugger().addEntry("pneumaticcraft.gui.progWidget.chargingStation.debug.noDispenserUpgrades", station.getBlockPos());
                         } else {
                             validChargingStations.add(station);
                         }
                     }
                 }
+                if (validChargingStations.isEmpty() && !drone.getDebugger().getDebuggingPlayers().isEmpty()) {
+                    explainUnreadyStations(maxDistSq);
+                }
             }
         });
 
@@ -90,6 +93,50 @@ public class DroneGoToChargingStation extends Goal {
         return false;
     }
 
+    private boolean isPathPending() {
+        return drone.getNavigation() instanceof EntityPathNavigateDrone nav && nav.isPathPending();
+    }
+
+    /**
+     * Get the stations which have enough pressure and a dispenser upgrade, in the chunks within range of the drone.
+     */
+    private List<ChargingStationBlockEntity> findReadyStations(int range) {
+        GlobalTileEntityCacheManager.SpatialTileEntityCache<ChargingStationBlockEntity> readyStations = GlobalTileEntityCacheManager.getInstance().readyChargingStations;
+        List<ChargingStationBlockEntity> res = new ArrayList<>();
+        long chunkSpan = 2L * SectionPos.blockToSectionCoord(range) + 2;
+        if (chunkSpan * chunkSpan > MAX_CHUNK_LOOKUPS) {
+            // very large search range configured; quicker to just check every ready station
+            for (ChargingStationBlockEntity station : readyStations) {
+                if (station.getLevel() == drone.level) res.add(station);
+            }
+        } else {
+            BlockPos dronePos = drone.blockPosition();
+            int minX = SectionPos.blockToSectionCoord(dronePos.getX() - range);
+            int minZ = SectionPos.blockToSectionCoord(dronePos.getZ() - range);
+            int maxX = SectionPos.blockToSectionCoord(dronePos.getX() + range);
+            int maxZ = SectionPos.blockToSectionCoord(dronePos.getZ() + range);
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    res.addAll(readyStations.getInChunk(drone.level, cx, cz));
+                }
+            }
+        }
+        return res;
+    }
+
+    private void explainUnreadyStations(int maxDistSq) {
+        // only worth the full search if someone is actually watching the drone's debug output
+        for (ChargingStationBlockEntity station : GlobalTileEntityCacheManager.getInstance().chargingStations) {
+            if (station.getLevel() == drone.level && !station.isReadyForDrones() && drone.distanceToSqr(Vec3.atCenterOf(station.getBlockPos())) <= maxDistSq) {
+                if (station.getPressure() <= PneumaticValues.DRONE_LOW_PRESSURE) {
+                    drone.getDebugger().addEntry("pneumaticcraft.gui.progWidget.chargingStation.debug.notEnoughPressure", station.getBlockPos());
+                } else if (station.getUpgrades(ModUpgrades.DISPENSER.get()) == 0) {
+                    drone.getDebugger().addEntry("pneumaticcraft.gui.progWidget.chargingStation.debug.noDispenserUpgrades", station.getBlockPos());
+                }
+            }
+        }
+    }
+
     /**
      * Returns whether an in-progress EntityAIBase should continue executing
      */
@@ -98,7 +145,13 @@ public class DroneGoToChargingStation extends Goal {
         if (curCharger.getUpgrades(ModUpgrades.DISPENSER.get()) == 0 || curCharger.isRemoved()) {
             isExecuting = false;
             return false;
-        } else if (!drone.getPathNavigator().isGoingToTeleport() && (drone.getNavigation().getPath() == null || drone.getNavigation().getPath().isDone())) {
+        } else if (drone.getPathNavigator().isPathFailed()) {
+            // the charger turned out to be unreachable; look for another, as canUse() would have done
+            drone.getDebugger().addEntry("pneumaticcraft.gui.progWidget.chargingStation.debug.cantNavigate", curCharger.getBlockPos());
+            isExecuting = false;
+            return canUse();
+        } else if (!drone.getPathNavigator().isGoingToTeleport() && !isPathPending()
+                && (drone.getNavigation().getPath() == null || drone.getNavigation().getPath().isDone())) {
             isExecuting = drone.getCapability(PNCCapabilities.AIR_HANDLER_CAPABILITY)
                     .map(h -> h.getPressure() < 9.9F && curCharger.getPressure() > h.getPressure() + 0.1F)
                     .orElseThrow(RuntimeException::new);
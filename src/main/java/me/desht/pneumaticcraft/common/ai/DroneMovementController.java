@@ -66,8 +66,8 @@ public class DroneMovementController extends MoveControl {
 
             EntityPathNavigateDrone navigator = (EntityPathNavigateDrone)entity.getNavigation();
             
-            // When teleporting already, the drone stands still for a bit, so don't expect movement in this case.
-            if (!navigator.isGoingToTeleport() && timeoutTimer++ > 40) {
+            // When teleporting already, or waiting for a path, the drone stands still for a bit, so don't expect movement in this case.
+            if (!navigator.isGoingToTeleport() && !navigator.isPathPending() && timeoutTimer++ > 40) {
                 entity.getNavigation().stop();
                 timeoutTimer = 0;
                 timeoutCounter++;
@@ -0,0 +1,298 @@
+/*
+ * This file is part of pnc-repressurized.
+ *
+ *     pnc-repressurized is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     pnc-repressurized is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with pnc-repressurized.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.desht.pneumaticcraft.common.ai;
+
+import me.desht.pneumaticcraft.api.lib.Names;
+import me.desht.pneumaticcraft.common.config.ConfigHelper;
+import me.desht.pneumaticcraft.common.entity.drone.DroneEntity;
+import me.desht.pneumaticcraft.lib.Log;
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.ai.attributes.Attributes;
+import net.minecraft.world.level.PathNavigationRegion;
+import net.minecraft.world.level.pathfinder.BlockPathTypes;
+import net.minecraft.world.level.pathfinder.Node;
+import net.minecraft.world.level.pathfinder.Path;
+import net.minecraft.world.level.pathfinder.PathFinder;
+import net.minecraft.world.level.pathfinder.Target;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import javax.annotation.Nullable;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computes drone paths on a shared pool of worker threads, against a {@link DronePathSnapshot} of the blocks between
+ * the drone and its destination. Finished paths are handed back to their navigators at the end of the server tick,
+ * no more than a configured number per tick; any left over wait for the next tick.
+ * <p>
+ * A worker can't consult custom {@link me.desht.pneumaticcraft.api.drone.IPathfindHandler}s, or see beyond its
+ * snapshot; if either of those might have changed the outcome, the path is recomputed synchronously when the result
+ * is applied. Workers never touch the live drone, or any other entity: the few pieces of navigation state the node
+ * evaluator needs (start position, whether the drone is in water, pathfinding malus values) are copied from the drone
+ * on the server thread when the request is submitted, and the evaluator reads those instead of a mob.
+ */
+@Mod.EventBusSubscriber(modid = Names.MOD_ID)
+public class DronePathRequests {
+    // extra space around the drone and its destination to copy, so paths have room to go around obstacles
+    private static final int SNAPSHOT_MARGIN = 16;
+    private static final int MAX_VISITED_NODES = 1000;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final Queue<Request> completed = new ConcurrentLinkedQueue<>();
+    private static ThreadPoolExecutor executor;
+
+    public static boolean isEnabled() {
+        return ConfigHelper.common().drones.asyncPathfinding.get();
+    }
+
+    /**
+     * Start computing a path for a drone. Must be called on the server thread.
+     *
+     * @param navigator the drone's navigator, which will be passed the result
+     * @param drone the drone
+     * @param target the destination
+     * @param reach how close to the destination the path needs to end
+     * @return the request
+     */
+    static Request submit(EntityPathNavigateDrone navigator, DroneEntity drone, BlockPos target, int reach) {
+        float followRange = (float) drone.getAttributeValue(Attributes.FOLLOW_RANGE);
+        BlockPos start = drone.blockPosition();
+        // same region vanilla would search, but only as much of it as this path is likely to need
+        int range = (int) followRange + 8;
+        BlockPos from = new BlockPos(
+                Math.max(Math.min(start.getX(), target.getX()) - SNAPSHOT_MARGIN, start.getX() - range),
+                Math.max(Math.min(start.getY(), target.getY()) - SNAPSHOT_MARGIN, start.getY() - range),
+                Math.max(Math.min(start.getZ(), target.getZ()) - SNAPSHOT_MARGIN, start.getZ() - range)
+        );
+        BlockPos to = new BlockPos(
+                Math.min(Math.max(start.getX(), target.getX()) + SNAPSHOT_MARGIN, start.getX() + range),
+                Math.min(Math.max(start.getY(), target.getY()) + SNAPSHOT_MARGIN, start.getY() + range),
+                Math.min(Math.max(start.getZ(), target.getZ()) + SNAPSHOT_MARGIN, start.getZ() + range)
+        );
+        Request request = new Request(navigator, new NavigationState(drone), target.immutable(), reach, followRange,
+                drone.canBreatheUnderwater(), new DronePathSnapshot(drone.level, from, to));
+        getExecutor().execute(request::compute);
+        return request;
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END) {
+            int budget = ConfigHelper.common().drones.asyncPathResultsPerTick.get();
+            Request request;
+            while (budget > 0 && (request = completed.poll()) != null) {
+                if (!request.cancelled && request.navigator.onPathComputed(request)) {
+                    budget--;
+                }
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        shutdown();
+    }
+
+    private static synchronized ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            int nThreads = ConfigHelper.common().drones.asyncPathfindingThreads.get();
+            ThreadFactory factory = r -> {
+                Thread t = new Thread(r, "PneumaticCraft Drone Pathfinder #" + THREAD_COUNTER.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            };
+            executor = new ThreadPoolExecutor(nThreads, nThreads, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    private static synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        completed.clear();
+    }
+
+    static class Request {
+        private final EntityPathNavigateDrone navigator;
+        private final NavigationState navState;
+        private final BlockPos target;
+        private final int reach;
+        private final float followRange;
+        private final boolean liquidsPassable;
+        private final DronePathSnapshot snapshot;
+        private volatile boolean cancelled;
+        private Path path;
+        private boolean recomputeNeeded;
+
+        private Request(EntityPathNavigateDrone navigator, NavigationState navState, BlockPos target, int reach, float followRange, boolean liquidsPassable, DronePathSnapshot snapshot) {
+            this.navigator = navigator;
+            this.navState = navState;
+            this.target = target;
+            this.reach = reach;
+            this.followRange = followRange;
+            this.liquidsPassable = liquidsPassable;
+            this.snapshot = snapshot;
+        }
+
+        private void compute() {
+            if (cancelled) return;
+            try {
+                SnapshotNodeProcessor evaluator = new SnapshotNodeProcessor(navState, liquidsPassable);
+                // the evaluator never reads the mob (see SnapshotNodeProcessor), so none is passed
+                path = new PathFinder(evaluator, MAX_VISITED_NODES).findPath(snapshot, null, Set.of(target), followRange, reach, 1.0F);
+                recomputeNeeded = snapshot.isExceeded() || evaluator.sawDynamicBlock && (path == null || !path.canReach());
+            } catch (RuntimeException e) {
+                Log.error("drone path computation failed for %s: %s", target, e.getMessage());
+                path = null;
+                recomputeNeeded = true;
+            }
+            completed.add(this);
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        BlockPos getTarget() {
+            return target;
+        }
+
+        int getReach() {
+            return reach;
+        }
+
+        @Nullable
+        Path getPath() {
+            return path;
+        }
+
+        /**
+         * Check if the worker's result can't be trusted, and the path should be computed again against the live level.
+         *
+         * @return true if the path must be recomputed
+         */
+        boolean isRecomputeNeeded() {
+            return recomputeNeeded;
+        }
+    }
+
+    /**
+     * The navigation state of a drone which the node evaluator needs, copied on the server thread.
+     */
+    private static class NavigationState {
+        private final double x, y, z;
+        private final boolean inWater;
+        private final float[] malus = new float[BlockPathTypes.values().length];
+
+        private NavigationState(DroneEntity drone) {
+            x = drone.getX();
+            y = drone.getY();
+            z = drone.getZ();
+            inWater = drone.isInWater();
+            for (BlockPathTypes type : BlockPathTypes.values()) {
+                malus[type.ordinal()] = drone.getPathfindingMalus(type);
+            }
+        }
+    }
+
+    /**
+     * Evaluates nodes against the snapshot and a copied {@link NavigationState}. Everything in the vanilla flying
+     * evaluator which would read the mob (preparation, the start node, node costs, and cleanup) is replaced here,
+     * so it can run with no mob at all; neighbour selection is inherited unchanged.
+     */
+    private static class SnapshotNodeProcessor extends NodeProcessorDrone {
+        private final NavigationState navState;
+        private final boolean liquidsPassable;
+        private final BlockPos.MutableBlockPos checkPos = new BlockPos.MutableBlockPos();
+        private boolean sawDynamicBlock;
+
+        private SnapshotNodeProcessor(NavigationState navState, boolean liquidsPassable) {
+            this.navState = navState;
+            this.liquidsPassable = liquidsPassable;
+        }
+
+        @Override
+        public void prepare(PathNavigationRegion region, Mob mob) {
+            level = region;
+            nodes.clear();
+        }
+
+        @Override
+        public void done() {
+            level = null;
+        }
+
+        @Override
+        public Node getStart() {
+            // same start height as the flying evaluator; never refused, since the drone is already there
+            int startY = navState.inWater ? Mth.floor(navState.y) : Mth.floor(navState.y + 0.5D);
+            return createNode(Mth.floor(navState.x), startY, Mth.floor(navState.z));
+        }
+
+        @Override
+        public Target getGoal(double x, double y, double z) {
+            return new Target(createNode(Mth.floor(x), Mth.floor(y), Mth.floor(z)));
+        }
+
+        @Nullable
+        @Override
+        protected Node getNode(int x, int y, int z) {
+            if (!isPassable(checkPos.set(x, y, z))) return null;
+            BlockPathTypes type = getBlockPathType(level, x, y, z);
+            float malus = navState.malus[type.ordinal()];
+            if (malus < 0F) return null;
+            Node node = createNode(x, y, z);
+            node.type = type;
+            node.costMalus = Math.max(node.costMalus, malus);
+            if (type == BlockPathTypes.WALKABLE) node.costMalus++;
+            return node;
+        }
+
+        private Node createNode(int x, int y, int z) {
+            return nodes.computeIfAbsent(Node.createHash(x, y, z), k -> new Node(x, y, z));
+        }
+
+        @Override
+        protected boolean isPassable(BlockPos pos) {
+            return switch (DronePathfindCache.classify(level, pos)) {
+                case BLOCKED -> false;
+                case PASSABLE -> true;
+                case LIQUID -> liquidsPassable;
+                case DYNAMIC -> {
+                    // custom pathfind handlers need the live level; treat as blocked here
+                    sawDynamicBlock = true;
+                    yield false;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of pnc-repressurized.
+ *
+ *     pnc-repressurized is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     pnc-repressurized is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with pnc-repressurized.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.desht.pneumaticcraft.common.ai;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.profiling.InactiveProfiler;
+import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.PathNavigationRegion;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.minecraft.world.level.material.FluidState;
+
+import javax.annotation.Nullable;
+
+/**
+ * An immutable copy of the block states in a box, which drone paths can be computed against on a worker thread.
+ * Block states are copied section by section when the snapshot is created (sections containing only air aren't
+ * copied); block entities are not available.
+ * <p>
+ * Lookups outside the box return air, as vanilla's region does, but mark the snapshot as having been
+ * {@link #isExceeded() exceeded}, since any path found may then be wrong.
+ */
+public class DronePathSnapshot extends PathNavigationRegion {
+    private final int minX, minY, minZ, maxX, maxY, maxZ;
+    private final int minSectionX, minSectionY, minSectionZ;
+    private final int sizeX, sizeY;
+    private final PalettedContainer<BlockState>[] sections;
+    private boolean exceeded;
+
+    @SuppressWarnings("unchecked")
+    DronePathSnapshot(Level level, BlockPos from, BlockPos to) {
+        super(level, from, to);
+
+        minX = from.getX();
+        minY = Math.max(from.getY(), level.getMinBuildHeight());
+        minZ = from.getZ();
+        maxX = to.getX();
+        maxY = Math.min(to.getY(), level.getMaxBuildHeight() - 1);
+        maxZ = to.getZ();
+        minSectionX = SectionPos.blockToSectionCoord(minX);
+        minSectionY = SectionPos.blockToSectionCoord(minY);
+        minSectionZ = SectionPos.blockToSectionCoord(minZ);
+        sizeX = SectionPos.blockToSectionCoord(maxX) - minSectionX + 1;
+        sizeY = Math.max(0, SectionPos.blockToSectionCoord(maxY) - minSectionY + 1);
+        int sizeZ = SectionPos.blockToSectionCoord(maxZ) - minSectionZ + 1;
+
+        sections = new PalettedContainer[sizeX * sizeY * sizeZ];
+        for (int sx = 0; sx < sizeX; sx++) {
+            for (int sz = 0; sz < sizeZ; sz++) {
+                ChunkAccess chunk = chunks[minSectionX + sx - centerX][minSectionZ + sz - centerZ];
+                if (chunk == null) continue;
+                LevelChunkSection[] chunkSections = chunk.getSections();
+                for (int sy = 0; sy < sizeY; sy++) {
+                    int idx = level.getSectionIndexFromSectionY(minSectionY + sy);
+                    if (idx >= 0 && idx < chunkSections.length && !chunkSections[idx].hasOnlyAir()) {
+                        sections[(sz * sizeY + sy) * sizeX + sx] = chunkSections[idx].getStates().copy();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Check if a block outside the snapshot was looked up at any point.
+     *
+     * @return true if the snapshot was too small for the search which used it
+     */
+    public boolean isExceeded() {
+        return exceeded;
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        int y = pos.getY();
+        if (y < level.getMinBuildHeight() || y >= level.getMaxBuildHeight()) {
+            return Blocks.VOID_AIR.defaultBlockState();
+        }
+        int x = pos.getX(), z = pos.getZ();
+        if (x < minX || x > maxX || y < minY || y > maxY || z < minZ || z > maxZ) {
+            exceeded = true;
+            return Blocks.AIR.defaultBlockState();
+        }
+        int sx = SectionPos.blockToSectionCoord(x) - minSectionX;
+        int sy = SectionPos.blockToSectionCoord(y) - minSectionY;
+        int sz = SectionPos.blockToSectionCoord(z) - minSectionZ;
+        PalettedContainer<BlockState> states = sections[(sz * sizeY + sy) * sizeX + sx];
+        return states == null ? Blocks.AIR.defaultBlockState() : states.get(x & 0xF, y & 0xF, z & 0xF);
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return getBlockState(pos).getFluidState();
+    }
+
+    @Nullable
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        // live block entities must not be touched off the server thread
+        return null;
+    }
+
+    @Override
+    public BlockGetter getChunkForCollisions(int chunkX, int chunkZ) {
+        // collision checks must see the copied states, not the live chunks
+        return this;
+    }
+
+    @Override
+    public ProfilerFiller getProfiler() {
+        // the level's profiler is not thread-safe
+        return InactiveProfiler.INSTANCE;
+    }
+}
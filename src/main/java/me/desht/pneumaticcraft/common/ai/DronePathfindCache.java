@@ -0,0 +1,192 @@
+/*
+ * This file is part of pnc-repressurized.
+ *
+ *     pnc-repressurized is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     pnc-repressurized is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with pnc-repressurized.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.desht.pneumaticcraft.common.ai;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import me.desht.pneumaticcraft.api.drone.IPathfindHandler;
+import me.desht.pneumaticcraft.api.lib.Names;
+import me.desht.pneumaticcraft.common.DroneRegistry;
+import me.desht.pneumaticcraft.common.util.PneumaticCraftUtils;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.pathfinder.PathComputationType;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Server side cache of which blocks drones can fly through, shared by all drones in a level. Stored as bitmaps per
+ * chunk section; a section is dropped when any block in it changes, and in any case after {@link #MAX_AGE} ticks,
+ * since not every block change fires a neighbour update. Liquids are recorded separately, since whether a drone can
+ * fly through them depends on its security upgrades.
+ */
+@Mod.EventBusSubscriber(modid = Names.MOD_ID)
+public class DronePathfindCache {
+    private static final int MAX_AGE = 200;
+
+    private static final Map<ResourceLocation, LevelCache> caches = new HashMap<>();
+
+    // temp workaround for https://bugs.mojang.com/browse/MC-181565
+    // some vanilla blocks with non-full shapes that don't override isPathfindable()
+    private static final Set<Block> MC181565_BLOCKS = Set.of(
+            Blocks.AMETHYST_CLUSTER,
+            Blocks.CANDLE,
+            Blocks.LILY_PAD,
+            Blocks.BIG_DRIPLEAF,
+            Blocks.POINTED_DRIPSTONE,
+            Blocks.TURTLE_EGG,
+            Blocks.AZALEA,
+            Blocks.HONEY_BLOCK
+    );
+
+    enum Passability { BLOCKED, PASSABLE, LIQUID, DYNAMIC }
+
+    @SubscribeEvent
+    public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        if (event.getWorld() instanceof Level level && !level.isClientSide) {
+            LevelCache cache = caches.get(level.dimension().location());
+            if (cache != null && !cache.sections.isEmpty()) {
+                cache.sections.remove(SectionPos.asLong(event.getPos()));
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getWorld() instanceof Level level && !level.isClientSide) {
+            LevelCache cache = caches.get(level.dimension().location());
+            if (cache != null && !cache.sections.isEmpty()) {
+                ChunkPos cp = event.getChunk().getPos();
+                for (int sy = level.getMinSection(); sy < level.getMaxSection(); sy++) {
+                    cache.sections.remove(SectionPos.asLong(cp.x, sy, cp.z));
+                }
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        caches.clear();
+    }
+
+    /**
+     * Check if a drone can pathfind through the given block.
+     *
+     * @param level the level
+     * @param pos the block position
+     * @param liquidsPassable true if the drone can fly through liquids (i.e. it has security upgrades)
+     * @return true if the block is passable
+     */
+    public static boolean isPassable(Level level, BlockPos pos, boolean liquidsPassable) {
+        if (level.isClientSide) {
+            return resolve(classify(level, pos), level, pos, liquidsPassable);
+        }
+
+        LevelCache cache = caches.computeIfAbsent(level.dimension().location(), k -> new LevelCache());
+        long now = level.getGameTime();
+        if (now - cache.lastPruned > MAX_AGE) {
+            cache.sections.values().removeIf(s -> now - s.created > MAX_AGE);
+            cache.lastPruned = now;
+        }
+        long key = SectionPos.asLong(pos);
+        SectionData data = cache.sections.get(key);
+        if (data == null || now - data.created > MAX_AGE) {
+            data = new SectionData(now);
+            cache.sections.put(key, data);
+        }
+
+        int idx = (pos.getY() & 0xF) << 8 | (pos.getZ() & 0xF) << 4 | (pos.getX() & 0xF);
+        int word = idx >> 6;
+        long bit = 1L << idx;
+        if ((data.known[word] & bit) == 0) {
+            Passability p = classify(level, pos);
+            if (p == Passability.DYNAMIC) {
+                return resolve(p, level, pos, liquidsPassable);
+            }
+            data.known[word] |= bit;
+            if (p == Passability.PASSABLE) data.passable[word] |= bit;
+            if (p == Passability.LIQUID) data.liquid[word] |= bit;
+        }
+        return (data.liquid[word] & bit) != 0 ? liquidsPassable : (data.passable[word] & bit) != 0;
+    }
+
+    private static boolean resolve(Passability p, Level level, BlockPos pos, boolean liquidsPassable) {
+        return switch (p) {
+            case BLOCKED -> false;
+            case PASSABLE -> true;
+            case LIQUID -> liquidsPassable;
+            case DYNAMIC -> {
+                IPathfindHandler pathfindHandler = DroneRegistry.getInstance().pathfindableBlocks.get(level.getBlockState(pos).getBlock());
+                yield pathfindHandler == null || pathfindHandler.canPathfindThrough(level, pos);
+            }
+        };
+    }
+
+    /**
+     * Classify a block by how drones may pathfind through it. Only reads block states, so is also safe to use against
+     * a block snapshot off the server thread; {@link Passability#DYNAMIC} results must then be handled by the caller.
+     *
+     * @param level the level, or a snapshot of it
+     * @param pos the block position
+     * @return the block's passability
+     */
+    static Passability classify(BlockGetter level, BlockPos pos) {
+        BlockState state = level.getBlockState(pos);
+        if (state.isAir()) return Passability.PASSABLE;
+        Block block = state.getBlock();
+        if (PneumaticCraftUtils.isBlockLiquid(block)) return Passability.LIQUID;
+        if (MC181565_BLOCKS.contains(block)) return Passability.BLOCKED;
+        if (state.isPathfindable(level, pos, PathComputationType.LAND)) return Passability.PASSABLE;
+        if (!state.getMaterial().blocksMotion() && block != Blocks.LADDER) return Passability.PASSABLE;
+        if (DroneRegistry.getInstance().pathfindableBlocks.containsKey(block)) {
+            // custom handlers may depend on more than the block state, so can't be cached
+            return DroneRegistry.getInstance().pathfindableBlocks.get(block) == null ? Passability.PASSABLE : Passability.DYNAMIC;
+        }
+        return Passability.BLOCKED;
+    }
+
+    private static class LevelCache {
+        private final Long2ObjectMap<SectionData> sections = new Long2ObjectOpenHashMap<>();
+        private long lastPruned;
+    }
+
+    private static class SectionData {
+        private final long created;
+        private final long[] known = new long[64];
+        private final long[] passable = new long[64];
+        private final long[] liquid = new long[64];
+
+        SectionData(long created) {
+            this.created = created;
+        }
+    }
+}
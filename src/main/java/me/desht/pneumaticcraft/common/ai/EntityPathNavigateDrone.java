@@ -43,7 +43,9 @@ import net.minecraft.world.phys.Vec3;
 import net.minecraft.world.phys.shapes.VoxelShape;
 
 import javax.annotation.Nullable;
+import java.util.HashSet;
 import java.util.Random;
+import java.util.Set;
 
 public class EntityPathNavigateDrone extends FlyingPathNavigation implements IPathNavigator {
     private final DroneEntity droneEntity;
@@ -51,7 +53,13 @@ public class EntityPathNavigateDrone extends FlyingPathNavigation implements IPa
     private int teleportCounter = -1;
     private BlockPos telPos;
     private static final int TELEPORT_TICKS = 120;
+    // how long a target which an off-thread search couldn't reach is refused without searching again
+    private static final int FAILED_TARGET_TICKS = 100;
     private int stuckTicks = 0;
+    private DronePathRequests.Request pendingRequest;
+    private final Set<BlockPos> failedTargets = new HashSet<>();
+    private long lastFailureTime;
+    private boolean pathFailed;
 
     public EntityPathNavigateDrone(DroneEntity droneEntity, Level world) {
         super(droneEntity, world);
@@ -60,7 +68,7 @@ public class EntityPathNavigateDrone extends FlyingPathNavigation implements IPa
 
     @Override
     public boolean moveTo(Entity p_75497_1_, double p_75497_2_) {
-        return super.moveTo(p_75497_1_, p_75497_2_) || isGoingToTeleport();
+        return super.moveTo(p_75497_1_, p_75497_2_) || isGoingToTeleport() || isPathPending();
     }
 
     /**
@@ -91,6 +99,10 @@ public class EntityPathNavigateDrone extends FlyingPathNavigation implements IPa
     @Nullable
     @Override
     public Path createPath(BlockPos pos, int p2) {
+        if (pendingRequest != null && !pendingRequest.getTarget().equals(pos)) {
+            cancelPendingPath();
+        }
+
         // When the destination is not a valid block, we can stop right away
         if (!droneEntity.isBlockValidPathfindBlock(pos))
             return null;
@@ -112,24 +124,74 @@ public class EntityPathNavigateDrone extends FlyingPathNavigation implements IPa
 
         droneEntity.setStandby(false);
 
-        Path path;
-        boolean tallBlockKludge = false;
+        // pathfinding to the space above a "tall" block and using distance == 0 doesn't work
+        // walls and fences are the main culprit here (any others?)
         BlockPos below = pos.below();
         VoxelShape shape = level.getBlockState(below).getCollisionShape(level, below);
-        if (!shape.isEmpty() && shape.bounds().maxY > 1) {
-            // pathfinding to the space above a "tall" block and using distance == 0 doesn't work
-            // walls and fences are the main culprit here (any others?)
-            path = super.createPath(pos, 1);
-            tallBlockKludge = true;
-        } else {
-            path = super.createPath(pos, 0);
+        int reach = !shape.isEmpty() && shape.bounds().maxY > 1 ? 1 : 0;
+
+        if (!level.isClientSide && DronePathRequests.isEnabled()) {
+            // computed off-thread; the drone hovers until the result is applied in onPathComputed()
+            if (pendingRequest == null) {
+                if (isRecentlyFailed(pos)) {
+                    // refuse straight away, just as a synchronous search would have
+                    return null;
+                }
+                pathFailed = false;
+                pendingRequest = DronePathRequests.submit(this, droneEntity, pos, reach);
+                droneEntity.getMoveControl().setWantedPosition(droneEntity.getX(), droneEntity.getY(), droneEntity.getZ(), droneEntity.getDroneSpeed());
+            }
+            return null;
+        }
+
+        return validatePath(pos, super.createPath(pos, reach), reach);
+    }
+
+    /**
+     * Called at the end of the server tick when an off-thread path computation has finished.
+     *
+     * @param request the finished request
+     * @return true if the result was applied, false if it's no longer wanted
+     */
+    boolean onPathComputed(DronePathRequests.Request request) {
+        if (request != pendingRequest || droneEntity.isRemoved()) {
+            return false;
+        }
+        pendingRequest = null;
+        Path path = request.isRecomputeNeeded() ? super.createPath(request.getTarget(), request.getReach()) : request.getPath();
+        path = validatePath(request.getTarget(), path, request.getReach());
+        if (path != null) {
+            failedTargets.clear();
+            moveTo(path, droneEntity.getDroneSpeed());
+            forceRidingEntityPaths();
+        } else if (!isGoingToTeleport()) {
+            // the caller was told the move had started; let it know it won't be happening
+            pathFailed = true;
+            failedTargets.add(request.getTarget());
+            lastFailureTime = level.getGameTime();
+        }
+        return true;
+    }
+
+    private boolean isRecentlyFailed(BlockPos pos) {
+        if (!failedTargets.isEmpty() && level.getGameTime() - lastFailureTime > FAILED_TARGET_TICKS) {
+            failedTargets.clear();
         }
+        return failedTargets.contains(pos);
+    }
 
+    @Override
+    public boolean isPathFailed() {
+        return pathFailed;
+    }
+
+    @Nullable
+    private Path validatePath(BlockPos pos, @Nullable Path path, int reach) {
         // Only paths that actually end up where we want to are valid, not just partway
         // (but if we had to stop short due to a "tall" block, account for that)
         if (path != null) {
             Node lastPoint = path.getEndNode();
-            if (lastPoint != null && pos.distManhattan(lastPoint.asBlockPos()) > (tallBlockKludge ? 1 : 0)) {
+            if (lastPoint != null && pos.distManhattan(lastPoint.asBlockPos()) > reach) {
                 path = null;
             }
         }
@@ -155,9 +217,31 @@ public class EntityPathNavigateDrone extends FlyingPathNavigation implements IPa
         return teleportCounter >= 0;
     }
 
+    /**
+     * Check if the drone is waiting for a path to be computed off-thread.
+     *
+     * @return true if a path computation is pending
+     */
+    public boolean isPathPending() {
+        return pendingRequest != null;
+    }
+
+    private void cancelPendingPath() {
+        if (pendingRequest != null) {
+            pendingRequest.cancel();
+            pendingRequest = null;
+        }
+    }
+
     @Override
     public boolean isDone() {
-        return super.isDone() && !isGoingToTeleport();
+        return super.isDone() && !isGoingToTeleport() && !isPathPending();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        cancelPendingPath();
     }
 
     @Override
@@ -185,7 +269,7 @@ public class EntityPathNavigateDrone extends FlyingPathNavigation implements IPa
                 droneEntity.getMoveControl().setWantedPosition(telPos.getX(), telPos.getY(), telPos.getZ(), droneEntity.getDroneSpeed());
                 droneEntity.addAirToDrone(-PneumaticValues.DRONE_USAGE_TELEPORT);
             }
-        } else {
+        } else if (!isPathPending()) {
             if (!isDone()) {
                 followThePath();
                 if (path != null && !path.isDone()) {
@@ -224,13 +308,13 @@ public class EntityPathNavigateDrone extends FlyingPathNavigation implements IPa
     public boolean moveToXYZ(double x, double y, double z) {
         boolean success = moveTo(x, y, z, droneEntity.getDroneSpeed());
         if (success) forceRidingEntityPaths();
-        return success;
+        return success || isPathPending();
     }
 
     @Override
     public boolean moveToEntity(Entity entity) {
         boolean success = moveTo(entity, droneEntity.getDroneSpeed());
-        if (success) forceRidingEntityPaths();
+        if (success && !isPathPending()) forceRidingEntityPaths();
         return success;
     }
 
@@ -23,8 +23,11 @@ import me.desht.pneumaticcraft.common.semiblock.IProvidingInventoryListener.Tile
 import me.desht.pneumaticcraft.common.semiblock.ISpecificProvider;
 import me.desht.pneumaticcraft.common.semiblock.ISpecificRequester;
 import me.desht.pneumaticcraft.common.util.IOHelper;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.material.Fluid;
 import net.minecraft.world.level.pathfinder.PathComputationType;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
@@ -32,15 +35,23 @@ import net.minecraftforge.fluids.capability.IFluidHandler;
 import net.minecraftforge.items.CapabilityItemHandler;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.PriorityQueue;
+import java.util.WeakHashMap;
 import java.util.stream.IntStream;
 
 public class LogisticsManager {
     private static final int N_PRIORITIES = 4;
+    private static final long RESERVATION_TIMEOUT = 1200;
 
     private final List<List<AbstractLogisticsFrameEntity>> logistics = new ArrayList<>();
+    // tasks which are being carried out (keyed by whoever is doing them), so others don't try to take the same stuff
+    private final Map<Object, Reservation> reservations = new WeakHashMap<>();
 
     public LogisticsManager() {
         for (int i = 0; i < N_PRIORITIES; i++) {
@@ -49,20 +60,58 @@ public class LogisticsManager {
     }
 
     public void addLogisticFrame(AbstractLogisticsFrameEntity frame) {
-        logistics.get(frame.getPriority()).add(frame);
+        List<AbstractLogisticsFrameEntity> frames = logistics.get(frame.getPriority());
+        if (!frames.contains(frame)) frames.add(frame);
+    }
+
+    public void removeLogisticFrame(AbstractLogisticsFrameEntity frame) {
+        logistics.get(frame.getPriority()).remove(frame);
+        reservations.values().removeIf(r -> r.task.provider == frame || r.task.requester == frame);
+    }
+
+    /**
+     * Reserve the provided resource in the given task, so it won't be offered to anyone else until released. The
+     * reservation also expires by itself after a while, in case the owner goes away without releasing it.
+     *
+     * @param owner whoever is carrying out the task (e.g. a drone); each owner can hold one reservation
+     * @param task the task
+     */
+    public void reserve(Object owner, LogisticsTask task) {
+        reservations.put(owner, new Reservation(task, task.provider.level.getGameTime() + RESERVATION_TIMEOUT));
+    }
+
+    public void release(Object owner) {
+        reservations.remove(owner);
     }
 
     public PriorityQueue<LogisticsTask> getTasks(Object holdingStack, boolean droneAccess) {
+        return getTasks(holdingStack, droneAccess, null);
+    }
+
+    /**
+     * Work out what logistics tasks can currently be done. Each provider's inventory is scanned at most once per call,
+     * and each requester is only asked how much it wants of a given stack once, no matter how many providers offer
+     * that stack; the tasks are then a join between the two.
+     *
+     * @param holdingStack an item or fluid stack which is already being carried, or null
+     * @param droneAccess true if the frames need to be accessible to a drone
+     * @param owner whoever is asking; resources reserved by anyone else aren't offered
+     * @return a queue of tasks, the biggest first
+     */
+    public PriorityQueue<LogisticsTask> getTasks(Object holdingStack, boolean droneAccess, @Nullable Object owner) {
         ItemStack item = holdingStack instanceof ItemStack ? (ItemStack) holdingStack : ItemStack.EMPTY;
         FluidStack fluid = holdingStack instanceof FluidStack ? (FluidStack) holdingStack : FluidStack.EMPTY;
         PriorityQueue<LogisticsTask> tasks = new PriorityQueue<>();
+        Map<AbstractLogisticsFrameEntity, ProviderOffers> offers = new IdentityHashMap<>();
         for (int priority = logistics.size() - 1; priority >= 0; priority--) {
             for (AbstractLogisticsFrameEntity requester : logistics.get(priority)) {
                 if (droneAccess && requester.isObstructed(PathComputationType.AIR)) continue;
+                Map<Object, Integer> requested = new HashMap<>();
                 for (int i = 0; i < priority; i++) {
                     for (AbstractLogisticsFrameEntity provider : logistics.get(i)) {
-                        if (droneAccess && provider.isObstructed(PathComputationType.AIR)) continue;
                         if (provider.shouldProvideTo(priority)) {
+                            ProviderOffers providerOffers = offers.computeIfAbsent(provider, p -> new ProviderOffers(p, droneAccess, getReserved(p, owner)));
+                            if (providerOffers.obstructed) continue;
                             if (!item.isEmpty()) {
                                 int requestedAmount = getRequestedAmount(requester, item, false);
                                 if (requestedAmount > 0) {
@@ -83,7 +132,7 @@ public class LogisticsManager {
                             // it could be that the drone is carrying some item or fluid it can't drop off right now
                             // however it might still be able to transfer the other resource type (i.e. transfer items if
                             // it's holding a fluid, and vice versa)
-                            tryProvide(provider, requester, tasks, item.isEmpty(), fluid.isEmpty());
+                            tryProvide(providerOffers, requester, requested, tasks, item.isEmpty(), fluid.isEmpty());
                         }
                     }
                 }
@@ -92,43 +141,41 @@ public class LogisticsManager {
         return tasks;
     }
 
-    private void tryProvide(AbstractLogisticsFrameEntity provider, AbstractLogisticsFrameEntity requester, PriorityQueue<LogisticsTask> tasks, boolean tryItems, boolean tryFluids) {
-        if (provider.getCachedTileEntity() == null) return;
+    private List<LogisticsTask> getReserved(AbstractLogisticsFrameEntity provider, @Nullable Object owner) {
+        if (reservations.isEmpty()) return List.of();
+        long now = provider.level.getGameTime();
+        reservations.values().removeIf(r -> r.expiry < now);
+        List<LogisticsTask> res = new ArrayList<>();
+        reservations.forEach((k, r) -> {
+            if (k != owner && r.task.provider == provider) res.add(r.task);
+        });
+        return res;
+    }
 
-        if (tryItems) {
-            provider.getCachedTileEntity().getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, provider.getSide()).ifPresent(itemHandler -> {
-                if (requester instanceof IProvidingInventoryListener)
-                    ((IProvidingInventoryListener) requester).notify(new TileEntityAndFace(provider.getCachedTileEntity(), provider.getSide()));
-                for (int i = 0; i < itemHandler.getSlots(); i++) {
-                    ItemStack providingStack = itemHandler.extractItem(i, 64, true);
-                    if (!providingStack.isEmpty() && (!(provider instanceof ISpecificProvider) || ((ISpecificProvider) provider).canProvide(providingStack))) {
-                        int requestedAmount = getRequestedAmount(requester, providingStack, true);
-                        if (requestedAmount > 0) {
-                            ItemStack stack = providingStack.copy();
-                            stack.setCount(requestedAmount);
-                            tasks.add(new LogisticsTask(provider, requester, stack));
-                        }
-                    }
+    private void tryProvide(ProviderOffers offers, AbstractLogisticsFrameEntity requester, Map<Object, Integer> requested, PriorityQueue<LogisticsTask> tasks, boolean tryItems, boolean tryFluids) {
+        if (tryItems && offers.hasItemHandler) {
+            if (requester instanceof IProvidingInventoryListener listener) {
+                listener.notify(new TileEntityAndFace(offers.provider.getCachedTileEntity(), offers.provider.getSide()));
+            }
+            for (ItemStack providingStack : offers.items) {
+                int requestedAmount = requested.computeIfAbsent(new ItemKey(providingStack),
+                        k -> getRequestedAmount(requester, providingStack, true));
+                if (requestedAmount > 0) {
+                    ItemStack stack = providingStack.copy();
+                    stack.setCount(requestedAmount);
+                    tasks.add(new LogisticsTask(offers.provider, requester, stack));
                 }
-            });
+            }
         }
 
-        if (tryFluids) {
-            provider.getCachedTileEntity().getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, provider.getSide()).ifPresent(fluidHandler -> {
-                FluidStack providingStack = fluidHandler.drain(16000, IFluidHandler.FluidAction.SIMULATE);
-                if (!providingStack.isEmpty()) {
-                    boolean canDrain = IntStream.range(0, fluidHandler.getTanks()).anyMatch(i -> fluidHandler.isFluidValid(i, providingStack));
-                    if (canDrain &&
-                            (!(provider instanceof ISpecificProvider) || ((ISpecificProvider) provider).canProvide(providingStack))) {
-                        int requestedAmount = getRequestedAmount(requester, providingStack, true);
-                        if (requestedAmount > 0) {
-                            FluidStack stack = providingStack.copy();
-                            stack.setAmount(requestedAmount);
-                            tasks.add(new LogisticsTask(provider, requester, stack));
-                        }
-                    }
-                }
-            });
+        if (tryFluids && !offers.fluid.isEmpty()) {
+            int requestedAmount = requested.computeIfAbsent(new FluidKey(offers.fluid),
+                    k -> getRequestedAmount(requester, offers.fluid, true));
+            if (requestedAmount > 0) {
+                FluidStack stack = offers.fluid.copy();
+                stack.setAmount(requestedAmount);
+                tasks.add(new LogisticsTask(offers.provider, requester, stack));
+            }
         }
     }
 
@@ -171,6 +218,74 @@ public class LogisticsManager {
         return providingStack.getAmount() < minOrderSize ? 0 : providingStack.getAmount();
     }
 
+    /**
+     * Snapshot of everything a provider frame can currently supply, taken once per {@link #getTasks(Object, boolean)}
+     * call.
+     */
+    private static class ProviderOffers {
+        private final AbstractLogisticsFrameEntity provider;
+        private final boolean obstructed;
+        private boolean hasItemHandler;
+        private final List<ItemStack> items = new ArrayList<>();
+        private FluidStack fluid = FluidStack.EMPTY;
+
+        ProviderOffers(AbstractLogisticsFrameEntity provider, boolean droneAccess, List<LogisticsTask> reserved) {
+            this.provider = provider;
+            this.obstructed = droneAccess && provider.isObstructed(PathComputationType.AIR);
+
+            BlockEntity te = provider.getCachedTileEntity();
+            if (obstructed || te == null) return;
+
+            te.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, provider.getSide()).ifPresent(itemHandler -> {
+                hasItemHandler = true;
+                List<ItemStack> reservedItems = new ArrayList<>();
+                reserved.forEach(task -> { if (!task.transportingItem.isEmpty()) reservedItems.add(task.transportingItem.copy()); });
+                for (int i = 0; i < itemHandler.getSlots(); i++) {
+                    ItemStack providingStack = itemHandler.extractItem(i, 64, true);
+                    if (!providingStack.isEmpty() && (!(provider instanceof ISpecificProvider sp) || sp.canProvide(providingStack))) {
+                        for (ItemStack r : reservedItems) {
+                            if (!r.isEmpty() && ItemStack.isSameItemSameTags(r, providingStack)) {
+                                int n = Math.min(r.getCount(), providingStack.getCount());
+                                r.shrink(n);
+                                providingStack.shrink(n);
+                            }
+                        }
+                        if (!providingStack.isEmpty()) items.add(providingStack);
+                    }
+                }
+            });
+
+            te.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, provider.getSide()).ifPresent(fluidHandler -> {
+                FluidStack providingStack = fluidHandler.drain(16000, IFluidHandler.FluidAction.SIMULATE);
+                if (!providingStack.isEmpty()) {
+                    boolean canDrain = IntStream.range(0, fluidHandler.getTanks()).anyMatch(i -> fluidHandler.isFluidValid(i, providingStack));
+                    if (canDrain && (!(provider instanceof ISpecificProvider sp) || sp.canProvide(providingStack))) {
+                        reserved.forEach(task -> {
+                            if (task.transportingFluid.isFluidEqual(providingStack)) providingStack.shrink(task.transportingFluid.getAmount());
+                        });
+                        if (!providingStack.isEmpty()) fluid = providingStack;
+                    }
+                }
+            });
+        }
+    }
+
+    private record Reservation(LogisticsTask task, long expiry) {
+    }
+
+    // the amount a requester wants depends on the offered stack's size as well as its type
+    private record ItemKey(Item item, CompoundTag tag, int count) {
+        ItemKey(ItemStack stack) {
+            this(stack.getItem(), stack.getTag(), stack.getCount());
+        }
+    }
+
+    private record FluidKey(Fluid fluid, CompoundTag tag, int amount) {
+        FluidKey(FluidStack stack) {
+            this(stack.getFluid(), stack.getTag(), stack.getAmount());
+        }
+    }
+
     public static class LogisticsTask implements Comparable<LogisticsTask> {
         public final AbstractLogisticsFrameEntity provider, requester;
         public final ItemStack transportingItem;
@@ -0,0 +1,110 @@
+/*
+ * This file is part of pnc-repressurized.
+ *
+ *     pnc-repressurized is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     pnc-repressurized is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with pnc-repressurized.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.desht.pneumaticcraft.common.ai;
+
+import me.desht.pneumaticcraft.api.lib.Names;
+import me.desht.pneumaticcraft.api.semiblock.SemiblockEvent;
+import me.desht.pneumaticcraft.common.entity.semiblock.AbstractLogisticsFrameEntity;
+import me.desht.pneumaticcraft.common.semiblock.SemiblockTracker;
+import me.desht.pneumaticcraft.common.util.StreamUtils;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Server side registry of logistics managers, one per dimension & area, shared by every drone (or programmable
+ * controller) running logistics over that area. Managers are kept up to date as logistics frames are added and
+ * removed, and are only weakly held here; they go away once no drone is using them any more.
+ */
+@Mod.EventBusSubscriber(modid = Names.MOD_ID)
+public class LogisticsNetworks {
+    private static final Map<ResourceLocation, List<Network>> networks = new HashMap<>();
+
+    /**
+     * Get the shared logistics manager for the given area, creating it if necessary. Creating a manager is expensive,
+     * since the area has to be searched for logistics frames, so callers should hold on to the result.
+     *
+     * @param level the level
+     * @param area the area
+     * @param extents bounding box of the area
+     * @return the logistics manager
+     */
+    static LogisticsManager getManager(Level level, Set<BlockPos> area, AABB extents) {
+        List<Network> list = networks.computeIfAbsent(level.dimension().location(), k -> new ArrayList<>());
+        list.removeIf(network -> network.manager.get() == null);
+        for (Network network : list) {
+            if (network.extents.equals(extents) && network.area.size() == area.size() && network.area.equals(area)) {
+                LogisticsManager manager = network.manager.get();
+                if (manager != null) return manager;
+            }
+        }
+
+        LogisticsManager manager = new LogisticsManager();
+        StreamUtils.ofType(AbstractLogisticsFrameEntity.class, SemiblockTracker.getInstance().getSemiblocksInArea(level, extents))
+                .filter(frame -> area.contains(frame.getBlockPos()))
+                .forEach(manager::addLogisticFrame);
+        list.add(new Network(area, extents, new WeakReference<>(manager)));
+        return manager;
+    }
+
+    @SubscribeEvent
+    public static void onSemiblockPlaced(SemiblockEvent.PlaceEvent event) {
+        if (event.getSemiblock() instanceof AbstractLogisticsFrameEntity frame) {
+            forNetworksAt(event.getWorld(), event.getPos(), manager -> manager.addLogisticFrame(frame));
+        }
+    }
+
+    @SubscribeEvent
+    public static void onSemiblockBroken(SemiblockEvent.BreakEvent event) {
+        if (event.getSemiblock() instanceof AbstractLogisticsFrameEntity frame) {
+            forNetworksAt(event.getWorld(), event.getPos(), manager -> manager.removeLogisticFrame(frame));
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        networks.clear();
+    }
+
+    private static void forNetworksAt(Level level, BlockPos pos, Consumer<LogisticsManager> action) {
+        if (level.isClientSide) return;
+        List<Network> list = networks.get(level.dimension().location());
+        if (list == null) return;
+        for (Network network : list) {
+            LogisticsManager manager = network.manager.get();
+            if (manager != null && network.area.contains(pos)) {
+                action.accept(manager);
+            }
+        }
+    }
+
+    private record Network(Set<BlockPos> area, AABB extents, WeakReference<LogisticsManager> manager) {
+    }
+}
@@ -25,10 +25,16 @@ import net.minecraft.world.level.pathfinder.Node;
 import javax.annotation.Nullable;
 
 public class NodeProcessorDrone extends FlyNodeEvaluator {
+    private final BlockPos.MutableBlockPos checkPos = new BlockPos.MutableBlockPos();
+
     @Nullable
     @Override
     protected Node getNode(int x, int y, int z) {
-        return ((DroneEntity) mob).isBlockValidPathfindBlock(new BlockPos(x, y, z)) ? super.getNode(x, y, z) : null;
+        return isPassable(checkPos.set(x, y, z)) ? super.getNode(x, y, z) : null;
+    }
+
+    protected boolean isPassable(BlockPos pos) {
+        return ((DroneEntity) mob).isBlockValidPathfindBlock(pos);
     }
 
     /**
@@ -0,0 +1,97 @@
+/*
+ * This file is part of pnc-repressurized.
+ *
+ *     pnc-repressurized is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     pnc-repressurized is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with pnc-repressurized.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.desht.pneumaticcraft.common.ai;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import me.desht.pneumaticcraft.api.lib.Names;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Server side tracker which lets drones remember that a chunk section contained nothing of interest to them, until a
+ * block in that section is updated. Only sections which have been explicitly watched are tracked, so block updates
+ * elsewhere cost no more than a map lookup. Since not every block change fires a neighbour update, watches also expire
+ * after {@link #MAX_AGE} ticks.
+ */
+@Mod.EventBusSubscriber(modid = Names.MOD_ID)
+public class SectionChangeTracker {
+    static final int MAX_AGE = 1200;
+
+    private static final Map<ResourceLocation, WatchedSections> watched = new HashMap<>();
+
+    @SubscribeEvent
+    public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        if (event.getWorld() instanceof Level level && !level.isClientSide) {
+            WatchedSections sections = watched.get(level.dimension().location());
+            if (sections != null && !sections.stamps.isEmpty()) {
+                sections.stamps.remove(SectionPos.asLong(event.getPos()));
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        watched.clear();
+    }
+
+    /**
+     * Start watching the given section for block updates, if it isn't already being watched.
+     *
+     * @param level the level
+     * @param sectionKey the section key, as returned by {@link SectionPos#asLong()}
+     */
+    static void watch(Level level, long sectionKey) {
+        WatchedSections sections = watched.computeIfAbsent(level.dimension().location(), k -> new WatchedSections());
+        long now = level.getGameTime();
+        if (now - sections.lastPruned > MAX_AGE) {
+            sections.stamps.long2LongEntrySet().removeIf(e -> now - e.getLongValue() > MAX_AGE);
+            sections.lastPruned = now;
+        }
+        sections.stamps.putIfAbsent(sectionKey, now);
+    }
+
+    /**
+     * Check if the given section has been continuously watched, with no block updates, since the given time.
+     *
+     * @param level the level
+     * @param sectionKey the section key, as returned by {@link SectionPos#asLong()}
+     * @param since a game time, at or after the time the section was watched
+     * @return true if the section is known to be unchanged, false if it may have changed
+     */
+    static boolean isUnchangedSince(Level level, long sectionKey, long since) {
+        if (level.getGameTime() - since > MAX_AGE) return false;
+        WatchedSections sections = watched.get(level.dimension().location());
+        if (sections == null) return false;
+        long stamp = sections.stamps.getOrDefault(sectionKey, Long.MAX_VALUE);
+        return stamp <= since;
+    }
+
+    private static class WatchedSections {
+        private final Long2LongMap stamps = new Long2LongOpenHashMap();
+        private long lastPruned;
+    }
+}
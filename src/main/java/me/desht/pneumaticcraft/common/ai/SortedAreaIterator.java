@@ -0,0 +1,78 @@
+/*
+ * This file is part of pnc-repressurized.
+ *
+ *     pnc-repressurized is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     pnc-repressurized is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with pnc-repressurized.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.desht.pneumaticcraft.common.ai;
+
+import me.desht.pneumaticcraft.common.progwidgets.area.AreaSet;
+import net.minecraft.core.BlockPos;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.LongPredicate;
+
+/**
+ * Lazily iterates the positions of an {@link AreaSet} in the order defined by a {@link ChunkPositionSorter}, without
+ * sorting the whole area. Chunk sections are expanded one at a time (in order of the best position they could
+ * contain), and a position is only returned once no unexpanded section could contain a position which sorts before it.
+ * Sections rejected by the section filter are skipped entirely.
+ */
+class SortedAreaIterator implements Iterator<BlockPos> {
+    private final AreaSet area;
+    private final List<Long> sortedSections;
+    private final ChunkPositionSorter sorter;
+    private final LongPredicate sectionFilter;
+    private final PriorityQueue<BlockPos> pending;
+    private int nextSection;
+
+    /**
+     * @param area the area to iterate
+     * @param sortedSections section keys of the area, sorted by {@link ChunkPositionSorter#sectionOrder()}
+     * @param sorter the position sorter
+     * @param sectionFilter tests section keys; only positions in sections which pass are returned
+     */
+    SortedAreaIterator(AreaSet area, List<Long> sortedSections, ChunkPositionSorter sorter, LongPredicate sectionFilter) {
+        this.area = area;
+        this.sortedSections = sortedSections;
+        this.sorter = sorter;
+        this.sectionFilter = sectionFilter;
+        this.pending = new PriorityQueue<>(sorter);
+    }
+
+    private void expandSections() {
+        while (nextSection < sortedSections.size()
+                && (pending.isEmpty() || !sorter.isBeforeSection(pending.peek(), sortedSections.get(nextSection)))) {
+            long sectionKey = sortedSections.get(nextSection++);
+            if (sectionFilter.test(sectionKey)) {
+                area.forEachInSection(sectionKey, pending::add);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        expandSections();
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public BlockPos next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return pending.poll();
+    }
+}
@@ -263,11 +263,13 @@ public class PressureTubeBlock extends AbstractCamouflageBlock
     public void setPlacedBy(Level world, BlockPos pos, BlockState state, LivingEntity entity, ItemStack stack) {
         super.setPlacedBy(world, pos, state, entity, stack);
 
-        ModuleNetworkManager.getInstance(world).invalidateCache();
-        // force BE to calculate its connections immediately so network manager rescanning works
+        // force BE to calculate its connections immediately so it can be merged into any adjacent tube networks
         PressureTubeBlockEntity te = getPressureTube(world, pos);
         if (te != null) {
             te.onNeighborTileUpdate(null);
+            ModuleNetworkManager.getInstance(world).onTubePlaced(te);
+        } else {
+            ModuleNetworkManager.getInstance(world).invalidateCache(pos);
         }
     }
 
@@ -287,7 +289,7 @@ public class PressureTubeBlock extends AbstractCamouflageBlock
                     if (!player.isCreative()) heldStack.shrink(1);
                     world.playSound(null, pos, SoundType.GLASS.getStepSound(), SoundSource.BLOCKS, SoundType.GLASS.getVolume() * 5.0f, SoundType.GLASS.getPitch() * 0.9f);
                     if (module instanceof INetworkedModule) {
-                        ModuleNetworkManager.getInstance(world).invalidateCache();
+                        ModuleNetworkManager.getInstance(world).invalidateCache(pos);
                     }
                 }
                 if (!simulate) module.onPlaced();
@@ -475,7 +477,7 @@ public class PressureTubeBlock extends AbstractCamouflageBlock
                 }
             }
         }
-        ModuleNetworkManager.getInstance(world).invalidateCache();
+        ModuleNetworkManager.getInstance(world).invalidateCache(pos);
 
         return true;
     }
@@ -507,7 +509,7 @@ public class PressureTubeBlock extends AbstractCamouflageBlock
         if (newState.getBlock() != state.getBlock()) {
             getModuleDrops(getPressureTube(world, pos))
                     .forEach(drop -> world.addFreshEntity(new ItemEntity(world, pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5, drop)));
-            ModuleNetworkManager.getInstance(world).invalidateCache();
+            ModuleNetworkManager.getInstance(world).invalidateCache(pos);
         }
         super.onRemove(state, world, pos, newState, isMoving);
     }
@@ -21,6 +21,8 @@ import me.desht.pneumaticcraft.common.block.OmnidirectionalHopperBlock;
 import me.desht.pneumaticcraft.common.core.ModUpgrades;
 import me.desht.pneumaticcraft.common.network.DescSynced;
 import me.desht.pneumaticcraft.common.network.GuiSynced;
+import me.desht.pneumaticcraft.common.network.PushSynced;
+import me.desht.pneumaticcraft.common.util.EntityQueryBroker;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
@@ -44,10 +46,12 @@ public abstract class AbstractHopperBlockEntity<T extends BlockEntity & IRedston
 
     private int lastComparatorValue = -1;
     private int cooldown;
-    private int entityScanCooldown;
+    // scan less often while there's nothing around to pick up or insert into
+    private final EntityQueryBroker.ScanBackoff entityScan = new EntityQueryBroker.ScanBackoff(BASE_TICK_RATE, BASE_TICK_RATE * 3);
     @GuiSynced
     int leaveMaterialCount; // leave items/liquids (used as filter)
     @DescSynced
+    @PushSynced
     public boolean isCreative; // has a creative upgrade installed
     private boolean wasCreative = false;
     Direction inputDir = Direction.UP;
@@ -71,6 +75,7 @@ public abstract class AbstractHopperBlockEntity<T extends BlockEntity & IRedston
 
         if (!nonNullLevel().isClientSide) {
             isCreative = getUpgrades(ModUpgrades.CREATIVE.get()) > 0;
+            markFieldDirty("isCreative");
             setupInputOutputRegions();
         }
     }
@@ -81,6 +86,7 @@ public abstract class AbstractHopperBlockEntity<T extends BlockEntity & IRedston
 
         inputDir = getInputDirection();
         setupInputOutputRegions();
+        entityScan.reset();
     }
 
     @Override
@@ -90,16 +96,16 @@ public abstract class AbstractHopperBlockEntity<T extends BlockEntity & IRedston
         super.tickServer();
 
         if (getRedstoneController().shouldRun()) {
-            if (--entityScanCooldown <= 0) {
+            if (entityScan.tick()) {
                 cachedInputEntities.clear();
                 if (shouldScanForEntities(inputDir)) {
-                    cachedInputEntities.addAll(nonNullLevel().getEntitiesOfClass(Entity.class, inputAABB, EntitySelector.ENTITY_STILL_ALIVE));
+                    cachedInputEntities.addAll(EntityQueryBroker.getEntitiesOfClass(nonNullLevel(), Entity.class, inputAABB, EntitySelector.ENTITY_STILL_ALIVE));
                 }
                 cachedOutputEntities.clear();
                 if (shouldScanForEntities(getRotation())) {
-                    cachedOutputEntities.addAll(nonNullLevel().getEntitiesOfClass(Entity.class, outputAABB, EntitySelector.ENTITY_STILL_ALIVE));
+                    cachedOutputEntities.addAll(EntityQueryBroker.getEntitiesOfClass(nonNullLevel(), Entity.class, outputAABB, EntitySelector.ENTITY_STILL_ALIVE));
                 }
-                entityScanCooldown = BASE_TICK_RATE;
+                entityScan.onScanned(cachedInputEntities.isEmpty() && cachedOutputEntities.isEmpty());
             }
 
             if (--cooldown <= 0) {
@@ -191,6 +197,7 @@ public abstract class AbstractHopperBlockEntity<T extends BlockEntity & IRedston
 
         if (level != null && !level.isClientSide) {
             isCreative = getUpgrades(ModUpgrades.CREATIVE.get()) > 0;
+            markFieldDirty("isCreative");
         }
     }
 
@@ -201,7 +208,7 @@ public abstract class AbstractHopperBlockEntity<T extends BlockEntity & IRedston
     }
 
     List<ItemEntity> getNeighborItems(AABB aabb) {
-        return aabb == null ? Collections.emptyList() : level.getEntitiesOfClass(ItemEntity.class, aabb, EntitySelector.ENTITY_STILL_ALIVE);
+        return aabb == null ? Collections.emptyList() : EntityQueryBroker.getEntitiesOfClass(nonNullLevel(), ItemEntity.class, aabb, EntitySelector.ENTITY_STILL_ALIVE);
     }
 
     abstract boolean shouldScanForEntities(Direction dir);
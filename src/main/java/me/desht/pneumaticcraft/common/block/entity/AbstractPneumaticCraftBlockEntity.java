@@ -72,6 +72,7 @@ import javax.annotation.Nullable;
 import java.util.BitSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.IntStream;
 
 public abstract class AbstractPneumaticCraftBlockEntity extends BlockEntity
         implements Nameable, IGUIButtonSensitive, IDescSynced, IUpgradeHolder, ILuaMethodProvider {
@@ -86,6 +87,8 @@ public abstract class AbstractPneumaticCraftBlockEntity extends BlockEntity
     private Component customName = null;
     private boolean forceFullSync;
     private BitSet fieldsToSync;  // tracks which synced fields have changed and need to be synced on the next tick
+    private BitSet dirtyFields;  // tracks which @PushSynced fields have been marked as changed since the last tick
+    private int[] polledFields;  // indices of synced fields which aren't @PushSynced, and so must be polled for changes
 
     public AbstractPneumaticCraftBlockEntity(BlockEntityType type, BlockPos pos, BlockState state) {
         this(type, pos, state, 0);
@@ -132,6 +135,7 @@ public abstract class AbstractPneumaticCraftBlockEntity extends BlockEntity
     @Override
     public CompoundTag getUpdateTag() {
         CompoundTag compound = super.getUpdateTag();
+        pollAllDescriptionFields();
         return new PacketDescription(this, true).writeNBT(compound);
     }
 
@@ -156,28 +160,58 @@ public abstract class AbstractPneumaticCraftBlockEntity extends BlockEntity
         return fieldsToSync.get(idx);
     }
 
+    @Override
+    public void markFieldDirty(int idx) {
+        if (dirtyFields != null) dirtyFields.set(idx);
+    }
+
+    /**
+     * Mark a {@link PushSynced} field as changed, so it gets synced to clients on the next server tick. Convenience
+     * wrapper around {@link #markFieldDirty(int)}; array fields have all their elements marked.
+     *
+     * @param fieldName the name of the field
+     */
+    protected void markFieldDirty(String fieldName) {
+        if (descriptionFields == null) return;  // nothing to do; all fields are checked when first retrieved
+        for (int i = 0; i < descriptionFields.size(); i++) {
+            if (descriptionFields.get(i).getFieldName().equals(fieldName)) {
+                dirtyFields.set(i);
+            }
+        }
+    }
+
     @Override
     public List<SyncedField<?>> getDescriptionFields() {
         if (descriptionFields == null) {
             descriptionFields = NetworkUtils.getSyncedFields(this, DescSynced.class);
             fieldsToSync = new BitSet(descriptionFields.size());
-            for (int i = 0; i < descriptionFields.size(); i++) {
-                SyncedField<?> field = descriptionFields.get(i);
-                if (field.update()) fieldsToSync.set(i);
-            }
+            dirtyFields = new BitSet(descriptionFields.size());
+            polledFields = IntStream.range(0, descriptionFields.size())
+                    .filter(i -> !descriptionFields.get(i).isPushed())
+                    .toArray();
+            pollAllDescriptionFields();
         }
         return descriptionFields;
     }
 
+    private void pollAllDescriptionFields() {
+        List<SyncedField<?>> descFields = getDescriptionFields();
+        for (int i = 0; i < descFields.size(); i++) {
+            if (descFields.get(i).update()) fieldsToSync.set(i);
+        }
+        dirtyFields.clear();
+    }
+
     /**
      * Force a sync of this BE to the client right now.
      */
     public final void sendDescriptionPacket() {
         if (level == null || level.isClientSide) return;
 
+        if (forceFullSync) pollAllDescriptionFields();
         PacketDescription descPacket = new PacketDescription(this, forceFullSync);
         if (descPacket.hasData()) {
-            NetworkHandler.sendToAllTracking(descPacket, this);
+            DescriptionBatcher.send(this, descPacket);
         }
         fieldsToSync.clear();
         forceFullSync = false;
@@ -206,11 +240,23 @@ public abstract class AbstractPneumaticCraftBlockEntity extends BlockEntity
                 ejector.autoExportFluid(this);
             }
 
-            for (int i = 0; i < getDescriptionFields().size(); i++) {
-                if (getDescriptionFields().get(i).update()) {
+            List<SyncedField<?>> descFields = getDescriptionFields();
+            // pushed fields: only check those which have been explicitly marked as changed
+            for (int i = dirtyFields.nextSetBit(0); i >= 0; i = dirtyFields.nextSetBit(i + 1)) {
+                if (descFields.get(i).update()) {
                     fieldsToSync.set(i);
                 }
             }
+            dirtyFields.clear();
+            // everything else gets polled, possibly at a reduced rate (staggered by position to spread the load)
+            int interval = ConfigHelper.common().advanced.descSyncPollInterval.get();
+            if (interval <= 1 || Math.floorMod(nonNullLevel().getGameTime() + worldPosition.hashCode(), interval) == 0) {
+                for (int i : polledFields) {
+                    if (descFields.get(i).update()) {
+                        fieldsToSync.set(i);
+                    }
+                }
+            }
 
             if (forceFullSync || !fieldsToSync.isEmpty()) {
                 sendDescriptionPacket();
@@ -94,6 +94,7 @@ public class ChargingStationBlockEntity extends AbstractAirHandlingBlockEntity i
     private final RedstoneController<ChargingStationBlockEntity> rsController = new RedstoneController<>(this, REDSTONE_MODES);
     @GuiSynced
     public boolean upgradeOnly = false;
+    private boolean readyForDrones;
 
     public ChargingStationBlockEntity(BlockPos pos, BlockState state) {
         super(ModBlockEntities.CHARGING_STATION.get(), pos, state, PressureTier.TIER_TWO, PneumaticValues.VOLUME_CHARGING_STATION, 4);
@@ -111,6 +112,8 @@ public class ChargingStationBlockEntity extends AbstractAirHandlingBlockEntity i
     public void tickServer() {
         super.tickServer();
 
+        updateReadyForDrones();
+
         discharging = false;
         charging = false;
 
@@ -329,6 +332,8 @@ public class ChargingStationBlockEntity extends AbstractAirHandlingBlockEntity i
     public void setRemoved(){
         super.setRemoved();
         GlobalTileEntityCacheManager.getInstance().chargingStations.remove(this);
+        GlobalTileEntityCacheManager.getInstance().readyChargingStations.remove(this);
+        readyForDrones = false;
     }
 
     @Override
@@ -337,6 +342,28 @@ public class ChargingStationBlockEntity extends AbstractAirHandlingBlockEntity i
         GlobalTileEntityCacheManager.getInstance().chargingStations.add(this);
     }
 
+    /**
+     * Check if this station can currently charge a drone, i.e. it has enough pressure and a dispenser upgrade. Ready
+     * stations are indexed in {@link GlobalTileEntityCacheManager#readyChargingStations} for quick lookup by drones.
+     *
+     * @return true if ready for drones
+     */
+    public boolean isReadyForDrones() {
+        return readyForDrones;
+    }
+
+    private void updateReadyForDrones() {
+        boolean ready = getPressure() > PneumaticValues.DRONE_LOW_PRESSURE && getUpgrades(ModUpgrades.DISPENSER.get()) > 0;
+        if (ready != readyForDrones) {
+            readyForDrones = ready;
+            if (ready) {
+                GlobalTileEntityCacheManager.getInstance().readyChargingStations.add(this);
+            } else {
+                GlobalTileEntityCacheManager.getInstance().readyChargingStations.remove(this);
+            }
+        }
+    }
+
     @Nullable
     @Override
     public AbstractContainerMenu createMenu(int i, Inventory playerInventory, Player playerEntity) {
@@ -30,6 +30,7 @@ import me.desht.pneumaticcraft.common.core.ModBlocks;
 import me.desht.pneumaticcraft.common.inventory.ElectrostaticCompressorMenu;
 import me.desht.pneumaticcraft.common.network.GuiSynced;
 import me.desht.pneumaticcraft.common.util.DirectionUtil;
+import me.desht.pneumaticcraft.common.util.EntityQueryBroker;
 import me.desht.pneumaticcraft.lib.PneumaticValues;
 import me.desht.pneumaticcraft.lib.Textures;
 import net.minecraft.core.BlockPos;
@@ -140,7 +141,7 @@ public class ElectrostaticCompressorBlockEntity extends AbstractAirHandlingBlock
                         compressor.onStruckByLightning(compressor, compressorSet.size());
                     }
                     AABB box = new AABB(getBlockPos()).inflate(16, 16, 16);
-                    for (LivingEntity entity : level.getEntitiesOfClass(LivingEntity.class, box, EntitySelector.ENTITY_STILL_ALIVE)) {
+                    for (LivingEntity entity : EntityQueryBroker.getEntitiesOfClass(level, LivingEntity.class, box, EntitySelector.ENTITY_STILL_ALIVE)) {
                         BlockPos pos = entity.blockPosition();
                         if (gridSet.contains(pos) || gridSet.contains(pos.below())) {
                             if (!net.minecraftforge.event.ForgeEventFactory.onEntityStruckByLightning(entity, bolt)) {
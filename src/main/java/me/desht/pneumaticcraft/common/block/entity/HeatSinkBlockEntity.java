@@ -21,6 +21,7 @@ import me.desht.pneumaticcraft.api.PneumaticRegistry;
 import me.desht.pneumaticcraft.api.heat.IHeatExchangerLogic;
 import me.desht.pneumaticcraft.common.core.ModBlockEntities;
 import me.desht.pneumaticcraft.common.heat.HeatExchangerLogicAmbient;
+import me.desht.pneumaticcraft.common.heat.HeatExchangerLogicTicking;
 import me.desht.pneumaticcraft.lib.BlockEntityConstants;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -79,7 +80,11 @@ public class HeatSinkBlockEntity extends CompressedIronBlockBlockEntity {
 
     public void onFannedByAirGrate() {
         // called server-side
-        heatExchanger.tick();
+        if (heatExchanger instanceof HeatExchangerLogicTicking ticking) {
+            ticking.tickExtra();
+        } else {
+            heatExchanger.tick();
+        }
         airExchanger.setTemperature(ambientTemp);
     }
 
@@ -21,6 +21,7 @@ import me.desht.pneumaticcraft.common.block.PneumaticDoorBlock;
 import me.desht.pneumaticcraft.common.core.ModBlockEntities;
 import me.desht.pneumaticcraft.common.network.DescSynced;
 import me.desht.pneumaticcraft.common.network.LazySynced;
+import me.desht.pneumaticcraft.common.network.PushSynced;
 import me.desht.pneumaticcraft.common.util.PneumaticCraftUtils;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -39,6 +40,7 @@ public class PneumaticDoorBlockEntity extends AbstractTickingBlockEntity {
     @DescSynced
     public boolean rightGoing;  // true = door rotates clockwise when door base arm extends
     @DescSynced
+    @PushSynced
     public int color = DyeColor.WHITE.getId();
 
     public PneumaticDoorBlockEntity(BlockPos pos, BlockState state) {
@@ -71,8 +73,9 @@ public class PneumaticDoorBlockEntity extends AbstractTickingBlockEntity {
     public boolean setColor(DyeColor dyeColor) {
         if (color != dyeColor.getId() && !getBlockState().getValue(PneumaticDoorBlock.TOP_DOOR)) {
             color = (byte) dyeColor.getId();
+            markFieldDirty("color");
             nonNullLevel().getBlockEntity(getBlockPos(), ModBlockEntities.PNEUMATIC_DOOR.get()).ifPresent(topHalf -> {
-                topHalf.color = color;
+                topHalf.copyColorFrom(this);
                 if (!nonNullLevel().isClientSide) {
                     setChanged();
                     topHalf.setChanged();
@@ -84,6 +87,11 @@ public class PneumaticDoorBlockEntity extends AbstractTickingBlockEntity {
         return false;
     }
 
+    public void copyColorFrom(PneumaticDoorBlockEntity other) {
+        color = other.color;
+        markFieldDirty("color");
+    }
+
     private boolean isTopDoor() {
         return PneumaticDoorBlock.isTopDoor(nonNullLevel().getBlockState(getBlockPos()));
     }
@@ -37,6 +37,7 @@ import me.desht.pneumaticcraft.common.network.PacketSpawnParticle;
 import me.desht.pneumaticcraft.common.particle.AirParticleData;
 import me.desht.pneumaticcraft.common.recipes.PneumaticCraftRecipeType;
 import me.desht.pneumaticcraft.common.util.CountedItemStacks;
+import me.desht.pneumaticcraft.common.util.EntityQueryBroker;
 import me.desht.pneumaticcraft.common.util.ItemStackHandlerIterable;
 import me.desht.pneumaticcraft.common.util.PneumaticCraftUtils;
 import me.desht.pneumaticcraft.common.util.SizeLimitedItemHandlerWrapper;
@@ -72,6 +73,7 @@ import net.minecraftforge.items.wrapper.CombinedInvWrapper;
 
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class PressureChamberValveBlockEntity extends AbstractAirHandlingBlockEntity
@@ -138,14 +140,20 @@ public class PressureChamberValveBlockEntity extends AbstractAirHandlingBlockEnt
 
     @Override
     public List<IAirHandlerMachine> addConnectedPneumatics(List<IAirHandlerMachine> airHandlers) {
+        forEachConnectedPneumatic(airHandlers::add);
+        return airHandlers;
+    }
+
+    @Override
+    public void forEachConnectedPneumatic(Consumer<IAirHandlerMachine> consumer) {
         if (accessoryValves != null) {
-            for (PressureChamberValveBlockEntity valve : accessoryValves) {
+            for (int i = 0; i < accessoryValves.size(); i++) {
+                PressureChamberValveBlockEntity valve = accessoryValves.get(i);
                 if (valve != this) {
-                    airHandlers.add(valve.airHandler);
+                    consumer.accept(valve.airHandler);
                 }
             }
         }
-        return airHandlers;
     }
 
     @Override
@@ -346,7 +354,7 @@ public class PressureChamberValveBlockEntity extends AbstractAirHandlingBlockEnt
 
     private void handleEntitiesInChamber() {
         AABB bbBox = new AABB(multiBlockX + 1, multiBlockY + 1, multiBlockZ + 1, multiBlockX + multiBlockSize - 1, multiBlockY + multiBlockSize - 1, multiBlockZ + multiBlockSize - 1);
-        List<LivingEntity> entities = nonNullLevel().getEntitiesOfClass(LivingEntity.class, bbBox);
+        List<LivingEntity> entities = EntityQueryBroker.getEntitiesOfClass(nonNullLevel(), LivingEntity.class, bbBox);
         for (LivingEntity entity : entities) {
             // Note: villager conversion is no longer a thing, since due to new 1.14+ villager mechanics,
             // the converted villager will just lose his progression. Instead, just place down a
@@ -657,7 +665,7 @@ public class PressureChamberValveBlockEntity extends AbstractAirHandlingBlockEnt
     }
     
     private void captureEntityItemsInChamber() {
-        List<ItemEntity> items = nonNullLevel().getEntitiesOfClass(ItemEntity.class, getChamberAABB(), EntitySelector.ENTITY_STILL_ALIVE);
+        List<ItemEntity> items = EntityQueryBroker.getEntitiesOfClass(nonNullLevel(), ItemEntity.class, getChamberAABB(), EntitySelector.ENTITY_STILL_ALIVE);
         for (ItemEntity item : items) {
             ItemStack stack = item.getItem();
             ItemStack excess = ItemHandlerHelper.insertItem(itemsInChamber, stack, false);
@@ -28,6 +28,7 @@ import me.desht.pneumaticcraft.common.item.TubeModuleItem;
 import me.desht.pneumaticcraft.common.network.DescSynced;
 import me.desht.pneumaticcraft.common.tubemodules.AbstractTubeModule;
 import me.desht.pneumaticcraft.common.tubemodules.IInfluenceDispersing;
+import me.desht.pneumaticcraft.common.tubemodules.ModuleNetworkManager;
 import me.desht.pneumaticcraft.common.util.DirectionUtil;
 import me.desht.pneumaticcraft.common.util.PneumaticCraftUtils;
 import me.desht.pneumaticcraft.common.util.RayTraceUtils;
@@ -56,6 +57,7 @@ import net.minecraftforge.registries.ForgeRegistries;
 
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 public class PressureTubeBlockEntity extends AbstractAirHandlingBlockEntity implements IAirListener, IManoMeasurable, CamouflageableBlockEntity {
@@ -65,6 +67,7 @@ public class PressureTubeBlockEntity extends AbstractAirHandlingBlockEntity impl
     private BlockState camoState;
     private AABB renderBoundingBox = null;
     private Direction inLineModuleDir = null;  // only one inline module allowed
+    private boolean hasDispersingModule = false;  // checked every tick when pressure networks are enabled
     private final List<Direction> neighbourDirections = new ArrayList<>();
     private VoxelShape cachedTubeShape = null; // important for performance
     private int pendingCacheShapeClear = 0;
@@ -222,6 +225,17 @@ public class PressureTubeBlockEntity extends AbstractAirHandlingBlockEntity impl
         if (!nonNullLevel().isClientSide) {
             neighbourDirections.clear();
             airHandler.getConnectedAirHandlers(this).forEach(connection -> neighbourDirections.add(connection.getDirection()));
+            // a tube coming into a loaded area may join up previously separate module networks
+            ModuleNetworkManager.getInstance(nonNullLevel()).invalidateCache(getBlockPos());
+        }
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+
+        if (level != null && !level.isClientSide) {
+            ModuleNetworkManager.getInstance(level).invalidateCache(getBlockPos());
         }
     }
 
@@ -239,6 +253,16 @@ public class PressureTubeBlockEntity extends AbstractAirHandlingBlockEntity impl
                 Integer.MAX_VALUE;
     }
 
+    @Override
+    public void forEachConnectedPneumatic(Consumer<IAirHandlerMachine> consumer) {
+        // tubes have no extra connections; overridden to avoid the allocating default
+    }
+
+    @Override
+    public boolean canJoinPressureNetwork(IAirHandlerMachine handler) {
+        return !hasDispersingModule;
+    }
+
     public AbstractTubeModule getModule(Direction side) {
         return modules.get(side);
     }
@@ -282,8 +306,17 @@ public class PressureTubeBlockEntity extends AbstractAirHandlingBlockEntity impl
         } else {
             modules.remove(side);
         }
+        hasDispersingModule = false;
+        for (AbstractTubeModule m : modules.values()) {
+            if (m instanceof IInfluenceDispersing) {
+                hasDispersingModule = true;
+                break;
+            }
+        }
         if (getLevel() != null && !getLevel().isClientSide) {
             getLevel().setBlock(getBlockPos(), PressureTubeBlock.recalculateState(level, worldPosition, getBlockState()), Block.UPDATE_ALL);
+            // connectivity and pressure network eligibility may have changed
+            initializeHullAirHandlers();
             sendDescriptionPacket();
             setChanged();
         }
@@ -27,7 +27,6 @@ import me.desht.pneumaticcraft.api.item.IProgrammable;
 import me.desht.pneumaticcraft.api.lib.NBTKeys;
 import me.desht.pneumaticcraft.api.lib.Names;
 import me.desht.pneumaticcraft.api.pressure.PressureTier;
-import me.desht.pneumaticcraft.api.semiblock.SemiblockEvent;
 import me.desht.pneumaticcraft.client.util.ClientUtils;
 import me.desht.pneumaticcraft.common.ai.DroneAIManager;
 import me.desht.pneumaticcraft.common.ai.IDroneBase;
@@ -36,7 +35,6 @@ import me.desht.pneumaticcraft.common.config.ConfigHelper;
 import me.desht.pneumaticcraft.common.core.*;
 import me.desht.pneumaticcraft.common.debug.DroneDebugger;
 import me.desht.pneumaticcraft.common.entity.drone.ProgrammableControllerEntity;
-import me.desht.pneumaticcraft.common.entity.semiblock.AbstractLogisticsFrameEntity;
 import me.desht.pneumaticcraft.common.inventory.ProgrammableControllerMenu;
 import me.desht.pneumaticcraft.common.inventory.handler.BaseItemStackHandler;
 import me.desht.pneumaticcraft.common.network.*;
@@ -84,7 +82,6 @@ import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.common.world.ForgeChunkManager;
 import net.minecraftforge.energy.CapabilityEnergy;
 import net.minecraftforge.energy.IEnergyStorage;
-import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fluids.IFluidTank;
 import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
 import net.minecraftforge.fluids.capability.IFluidHandler;
@@ -181,8 +178,6 @@ public class ProgrammableControllerBlockEntity extends AbstractAirHandlingBlockE
 
         MinecraftForge.EVENT_BUS.post(new DroneConstructingEvent(this));
 
-        MinecraftForge.EVENT_BUS.register(this);
-
         itemHandlerSideConfigurator = new SideConfigurator<>("items", this);
         itemHandlerSideConfigurator.registerHandler("droneInv", new ItemStack(ModItems.DRONE.get()),
                 CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, () -> droneItemHandler,
@@ -193,13 +188,6 @@ public class ProgrammableControllerBlockEntity extends AbstractAirHandlingBlockE
         itemHandlerSideConfigurator.setNullFaceHandler("droneInv");
     }
 
-    @SubscribeEvent
-    public void onSemiblockEvent(SemiblockEvent event) {
-        if (!event.getWorld().isClientSide && event.getWorld() == getLevel() && event.getSemiblock() instanceof AbstractLogisticsFrameEntity) {
-            logisticsManager = null;
-        }
-    }
-
     @Override
     public void tickCommonPre() {
         super.tickCommonPre();
@@ -343,7 +331,6 @@ public class ProgrammableControllerBlockEntity extends AbstractAirHandlingBlockE
         if (level instanceof ServerLevel) {
             loadedChunks.forEach(cp -> ForgeChunkManager.forceChunk((ServerLevel) level, Names.MOD_ID, worldPosition, cp.x, cp.z, false, false));
         }
-        MinecraftForge.EVENT_BUS.unregister(this);
         itemHandlerSideConfigurator.invalidateCaps();
     }
 
@@ -19,6 +19,8 @@ package me.desht.pneumaticcraft.common.block.entity;
 
 import com.google.common.collect.ImmutableList;
 import com.mojang.authlib.GameProfile;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import me.desht.pneumaticcraft.api.DamageSourcePneumaticCraft;
 import me.desht.pneumaticcraft.api.lib.Names;
 import me.desht.pneumaticcraft.common.block.entity.RedstoneController.EmittingRedstoneMode;
@@ -66,6 +68,7 @@ import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.item.BlockItem;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
@@ -164,7 +167,11 @@ public class SecurityStationBlockEntity extends AbstractTickingBlockEntity imple
             updateNeighbours();
         }
 
-        rangeManager.setRange(Math.min(2 + getUpgrades(ModUpgrades.RANGE.get()), BlockEntityConstants.SECURITY_STATION_MAX_RANGE));
+        int range = Math.min(2 + getUpgrades(ModUpgrades.RANGE.get()), BlockEntityConstants.SECURITY_STATION_MAX_RANGE);
+        if (range != rangeManager.getRange()) {
+            rangeManager.setRange(range);
+            GlobalTileEntityCacheManager.getInstance().securityStations.update(this);
+        }
     }
 
     public void rebootStation() {
@@ -610,23 +617,55 @@ public class SecurityStationBlockEntity extends AbstractTickingBlockEntity imple
     }
 
     static Stream<SecurityStationBlockEntity> getSecurityStations(final Level world, final BlockPos pos, final boolean isPlacingSecurityStation) {
-        return GlobalTileEntityCacheManager.getInstance().securityStations.stream()
-                .filter(station -> isValidAndInRange(world, pos, isPlacingSecurityStation, station));
+        GlobalTileEntityCacheManager.SpatialTileEntityCache<SecurityStationBlockEntity> cache = GlobalTileEntityCacheManager.getInstance().securityStations;
+        // prevent security stations of different owners from being placed too near each other
+        Stream<SecurityStationBlockEntity> candidates = isPlacingSecurityStation ?
+                cache.streamNear(world, new AABB(pos).inflate(16)) :
+                cache.streamNear(world, pos);
+        return candidates.filter(station -> isValidAndInRange(world, pos, isPlacingSecurityStation, station));
+    }
+
+    /**
+     * Remove from the given list every position which is protected from the given player. Stations are looked up
+     * and checked against the player once per chunk, so positions in chunks with no protecting station cost almost
+     * nothing; intended for explosions, which can affect many positions at once.
+     *
+     * @param player the player
+     * @param world the level
+     * @param positions the positions to check; will be modified
+     */
+    public static void removeProtectedPositions(Player player, Level world, List<BlockPos> positions) {
+        Long2ObjectMap<List<SecurityStationBlockEntity>> protectingByChunk = new Long2ObjectOpenHashMap<>();
+        positions.removeIf(pos -> {
+            List<SecurityStationBlockEntity> protecting = protectingByChunk.computeIfAbsent(ChunkPos.asLong(pos), k ->
+                    GlobalTileEntityCacheManager.getInstance().securityStations.getInChunk(world, ChunkPos.getX(k), ChunkPos.getZ(k)).stream()
+                            .filter(teSS -> isValid(world, teSS) && !teSS.doesAllowPlayer(player))
+                            .toList());
+            return !protecting.isEmpty() && protecting.stream().anyMatch(teSS -> isInCoverage(teSS.getSecurityCoverage(), pos));
+        });
     }
 
     private static boolean isValidAndInRange(Level world, BlockPos pos, boolean isPlacingSecurityStation, SecurityStationBlockEntity teSS) {
-        if (!teSS.isRemoved() && teSS.nonNullLevel().dimension().compareTo(world.dimension()) == 0 && teSS.hasValidNetwork()) {
+        if (isValid(world, teSS)) {
             AABB aabb = teSS.getSecurityCoverage();
             // prevent security stations of different owners from being placed too near each other
             if (isPlacingSecurityStation) aabb = aabb.inflate(16);
-            // can't just use AxisAlignedBB#contains here; it will miss blocks on the positive X/Z edges of the box
-            return aabb.minX <= pos.getX() && aabb.maxX >= pos.getX()
-                    && aabb.minY <= pos.getY() && aabb.maxY >= pos.getY()
-                    && aabb.minZ <= pos.getZ() && aabb.maxZ >= pos.getZ();
+            return isInCoverage(aabb, pos);
         }
         return false;
     }
 
+    private static boolean isValid(Level world, SecurityStationBlockEntity teSS) {
+        return !teSS.isRemoved() && teSS.nonNullLevel().dimension().compareTo(world.dimension()) == 0 && teSS.hasValidNetwork();
+    }
+
+    private static boolean isInCoverage(AABB aabb, BlockPos pos) {
+        // can't just use AxisAlignedBB#contains here; it will miss blocks on the positive X/Z edges of the box
+        return aabb.minX <= pos.getX() && aabb.maxX >= pos.getX()
+                && aabb.minY <= pos.getY() && aabb.maxY >= pos.getY()
+                && aabb.minZ <= pos.getZ() && aabb.maxZ >= pos.getZ();
+    }
+
     private static boolean isPlayerExempt(Player player) {
         // can player ignore security stations entirely? server ops and creative mode players
         // note : player.createCommandSourceStack() will throw NPE if player is a fakeplayer with a null id
@@ -726,7 +765,7 @@ public class SecurityStationBlockEntity extends AbstractTickingBlockEntity imple
         public static void onBlockExplode(ExplosionEvent event) {
             final Player player = getPlayerForExplosion(event);
             if (player != null && !isPlayerExempt(player) && event.getWorld() != null && !event.getWorld().isClientSide) {
-                event.getExplosion().getToBlow().removeIf(pos -> isProtectedFromPlayer(player, pos, false));
+                removeProtectedPositions(player, event.getWorld(), event.getExplosion().getToBlow());
             }
         }
 
@@ -29,6 +29,7 @@ import me.desht.pneumaticcraft.common.network.DescSynced;
 import me.desht.pneumaticcraft.common.network.GuiSynced;
 import me.desht.pneumaticcraft.common.network.PacketPlayMovingSound.MovingSoundFocus;
 import me.desht.pneumaticcraft.common.util.EntityDistanceComparator;
+import me.desht.pneumaticcraft.common.util.EntityQueryBroker;
 import me.desht.pneumaticcraft.common.util.PneumaticCraftUtils;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
@@ -83,6 +84,8 @@ public class SentryTurretBlockEntity extends AbstractTickingBlockEntity implemen
     @DescSynced
     private boolean sweeping;
     private final SentryTurretEntitySelector entitySelector = new SentryTurretEntitySelector();
+    // fixed interval: a sentry must not be slower to notice intruders just because it has been idle
+    private final EntityQueryBroker.ScanBackoff targetScan = new EntityQueryBroker.ScanBackoff(16, 16);
     private double rangeSq;
     private Vec3 tileVec;
     @DescSynced
@@ -98,8 +101,9 @@ public class SentryTurretBlockEntity extends AbstractTickingBlockEntity implemen
 
         if (getMinigun().getAttackTarget() == null && rsController.shouldRun()) {
             getMinigun().setSweeping(true);
-            if ((nonNullLevel().getGameTime() & 0xF) == 0) {
-                List<LivingEntity> entities = nonNullLevel().getEntitiesOfClass(LivingEntity.class, getTargetingBoundingBox(), entitySelector);
+            if (targetScan.tick()) {
+                List<LivingEntity> entities = EntityQueryBroker.getEntitiesOfClass(nonNullLevel(), LivingEntity.class, getTargetingBoundingBox(), entitySelector);
+                targetScan.onScanned(entities.isEmpty());
                 if (entities.size() > 0) {
                     entities.sort(new EntityDistanceComparator(getBlockPos()));
                     getMinigun().setAttackTarget(entities.get(0));
@@ -290,6 +294,7 @@ public class SentryTurretBlockEntity extends AbstractTickingBlockEntity implemen
     }
 
     private void recalculateRange() {
+        targetScan.reset();
         range = 16 + Math.min(16, getUpgrades(ModUpgrades.RANGE.get()));
         ItemStack ammoStack = getMinigun().getAmmoStack();
         if (ammoStack.getItem() instanceof AbstractGunAmmoItem ammo) {
@@ -413,6 +418,7 @@ public class SentryTurretBlockEntity extends AbstractTickingBlockEntity implemen
         if (level != null && !level.isClientSide) {
             onFilterChanged(text);
             if (minigun != null) minigun.setAttackTarget(null);
+            targetScan.reset();
         }
     }
 
@@ -18,6 +18,8 @@
 package me.desht.pneumaticcraft.common.block.entity;
 
 import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import me.desht.pneumaticcraft.api.item.IPositionProvider;
 import me.desht.pneumaticcraft.api.item.PNCUpgrade;
 import me.desht.pneumaticcraft.api.pressure.PressureTier;
@@ -27,13 +29,17 @@ import me.desht.pneumaticcraft.api.universal_sensor.ISensorSetting;
 import me.desht.pneumaticcraft.client.gui.UniversalSensorScreen;
 import me.desht.pneumaticcraft.common.block.entity.RedstoneController.EmittingRedstoneMode;
 import me.desht.pneumaticcraft.common.block.entity.RedstoneController.RedstoneMode;
+import me.desht.pneumaticcraft.common.config.ConfigHelper;
 import me.desht.pneumaticcraft.common.core.ModBlockEntities;
 import me.desht.pneumaticcraft.common.core.ModItems;
 import me.desht.pneumaticcraft.common.core.ModUpgrades;
+import me.desht.pneumaticcraft.common.event.UniversalSensorHandler;
 import me.desht.pneumaticcraft.common.inventory.UniversalSensorMenu;
 import me.desht.pneumaticcraft.common.item.GPSToolItem;
 import me.desht.pneumaticcraft.common.network.DescSynced;
 import me.desht.pneumaticcraft.common.network.GuiSynced;
+import me.desht.pneumaticcraft.common.sensor.BlockSensorTracker;
+import me.desht.pneumaticcraft.common.sensor.IBlockChangeSensor;
 import me.desht.pneumaticcraft.common.sensor.SensorHandler;
 import me.desht.pneumaticcraft.common.thirdparty.ThirdPartyManager;
 import me.desht.pneumaticcraft.common.thirdparty.computer_common.ComputerEventManager;
@@ -48,12 +54,14 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.Mth;
 import net.minecraft.world.MenuProvider;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.AABB;
 import net.minecraftforge.common.util.LazyOptional;
@@ -82,6 +90,7 @@ public class UniversalSensorBlockEntity extends AbstractAirHandlingBlockEntity i
 
     @GuiSynced
     private String sensorSetting = "";
+    private ISensorSetting currentSensor;  // resolved from sensorSetting
     private int tickTimer;
     public int redstoneStrength;
     private int redstonePulseCounter;
@@ -100,6 +109,15 @@ public class UniversalSensorBlockEntity extends AbstractAirHandlingBlockEntity i
     public SensorStatus sensorStatus = SensorStatus.OK;
     private boolean requestPollPullEvent;  // computer support
     private final Set<BlockPos> positions = new HashSet<>();
+    // running state for block change sensors, which are updated as blocks change rather than polled
+    private IBlockChangeSensor blockChangeSensor;
+    private final Object2IntMap<BlockPos> positionValues = new Object2IntOpenHashMap<>();
+    private final int[] positionValueCounts = new int[16];
+    private final Set<BlockPos> changedPositions = new HashSet<>();
+    private boolean rescanNeeded;
+    private long firstChangeTime = -1L;
+    private long lastRescanTime;
+    private int lastSkyDarken = -1;
 
     private final ItemStackHandler itemHandler = new UniversalSensorItemHandler();
     private final LazyOptional<IItemHandler> inventoryCap = LazyOptional.of(() -> itemHandler);
@@ -131,15 +149,17 @@ public class UniversalSensorBlockEntity extends AbstractAirHandlingBlockEntity i
 
         boolean invertedRedstone = rsController.getCurrentMode() == RS_MODE_INVERTED;
         tickTimer++;
-        ISensorSetting sensor = SensorHandler.getInstance().getSensorFromPath(sensorSetting);
+        ISensorSetting sensor = currentSensor;
         if (updateStatus(sensor) == SensorStatus.OK  && getPressure() > getMinWorkingPressure()) {
             isSensorActive = true;
             addAir(-sensor.getAirUsage(getLevel(), getBlockPos()));
             if (sensor instanceof IPollSensorSetting pollSensor) {
-                if (tickTimer >= pollSensor.getPollFrequency(this)) {
+                if (blockChangeSensor != null ? isBlockChangeUpdateDue() : tickTimer >= pollSensor.getPollFrequency(this)) {
                     try {
                         pollSensor.setPlayerContext(playerId);
-                        int newRedstoneStrength = pollSensor.getRedstoneValue(getLevel(), getBlockPos(), getRange(), sensorGuiText);
+                        int newRedstoneStrength = blockChangeSensor != null ?
+                                updateBlockChangeValue() :
+                                pollSensor.getRedstoneValue(getLevel(), getBlockPos(), getRange(), sensorGuiText);
                         if (invertedRedstone) newRedstoneStrength = 15 - newRedstoneStrength;
                         if (newRedstoneStrength != redstoneStrength) {
                             redstoneStrength = newRedstoneStrength;
@@ -172,6 +192,82 @@ public class UniversalSensorBlockEntity extends AbstractAirHandlingBlockEntity i
         }
     }
 
+    /**
+     * Called by {@link BlockSensorTracker} when a block changes near this sensor's area.
+     *
+     * @param pos the changed block, or null if any block in the area may have changed
+     */
+    public void onBlockChanged(@Nullable BlockPos pos) {
+        if (blockChangeSensor == null) return;
+
+        int radius = blockChangeSensor.getChangeRadius();
+        if (pos == null || (2 * radius + 1) * (2 * radius + 1) * (2 * radius + 1) > positions.size()) {
+            rescanNeeded = true;
+        } else if (radius == 0) {
+            if (positions.contains(pos)) changedPositions.add(pos.immutable());
+        } else {
+            for (BlockPos p : BlockPos.betweenClosed(pos.offset(-radius, -radius, -radius), pos.offset(radius, radius, radius))) {
+                if (positions.contains(p)) changedPositions.add(p.immutable());
+            }
+        }
+        if (firstChangeTime < 0 && (rescanNeeded || !changedPositions.isEmpty())) {
+            firstChangeTime = nonNullLevel().getGameTime();
+        }
+    }
+
+    private boolean isBlockChangeUpdateDue() {
+        long now = nonNullLevel().getGameTime();
+        if (blockChangeSensor.dependsOnSkyDarken() && nonNullLevel().getSkyDarken() != lastSkyDarken) {
+            lastSkyDarken = nonNullLevel().getSkyDarken();
+            onBlockChanged(null);
+        }
+        int rescanInterval = ConfigHelper.common().machines.blockSensorRescanInterval.get();
+        if (rescanInterval > 0 && now - lastRescanTime >= rescanInterval) {
+            onBlockChanged(null);
+        }
+        // allow a short delay after a change, e.g. for light levels to update
+        return firstChangeTime >= 0 && now - firstChangeTime >= blockChangeSensor.getPollFrequency();
+    }
+
+    private int updateBlockChangeValue() {
+        Level level = nonNullLevel();
+        if (rescanNeeded) {
+            positionValues.clear();
+            Arrays.fill(positionValueCounts, 0);
+            for (BlockPos p : positions) {
+                int value = Mth.clamp(blockChangeSensor.getPositionValue(level, p), 0, 15);
+                positionValues.put(p, value);
+                positionValueCounts[value]++;
+            }
+            lastRescanTime = level.getGameTime();
+        } else {
+            for (BlockPos p : changedPositions) {
+                int value = Mth.clamp(blockChangeSensor.getPositionValue(level, p), 0, 15);
+                int oldValue = positionValues.put(p, value);
+                positionValueCounts[oldValue]--;
+                positionValueCounts[value]++;
+            }
+        }
+        rescanNeeded = false;
+        changedPositions.clear();
+        firstChangeTime = -1L;
+
+        for (int value = 15; value > 0; value--) {
+            if (positionValueCounts[value] > 0) return value;
+        }
+        return 0;
+    }
+
+    private void updateBlockChangeWatch() {
+        blockChangeSensor = SensorHandler.getInstance().getBlockChangeSensor(currentSensor);
+        if (blockChangeSensor != null && !isRemoved() && getLevel() != null && !getLevel().isClientSide) {
+            BlockSensorTracker.watch(this, positions, blockChangeSensor.getChangeRadius());
+            onBlockChanged(null);
+        } else {
+            BlockSensorTracker.unwatch(this);
+        }
+    }
+
     private void notifyComputers(Object... params) {
         ComputerEventManager.getInstance().sendEvents(this, "universalSensor", params);
     }
@@ -212,7 +308,7 @@ public class UniversalSensorBlockEntity extends AbstractAirHandlingBlockEntity i
     }
 
     public void onEvent(Event event) {
-        ISensorSetting sensor = SensorHandler.getInstance().getSensorFromPath(sensorSetting);
+        ISensorSetting sensor = currentSensor;
         if (sensor instanceof IEventSensorSetting && getPressure() >= getMinWorkingPressure()) {
             int newRedstoneStrength = ((IEventSensorSetting) sensor).emitRedstoneOnEvent(event, this, getRange(), sensorGuiText);
             if (newRedstoneStrength != 0) redstonePulseCounter = ((IEventSensorSetting) sensor).getRedstonePulseLength();
@@ -238,8 +334,12 @@ public class UniversalSensorBlockEntity extends AbstractAirHandlingBlockEntity i
 
     private void setSensorSetting(String sensorPath) {
         sensorSetting = sensorPath;
+        currentSensor = SensorHandler.getInstance().getSensorFromPath(sensorPath);
         if (getLevel() != null && getLevel().isClientSide) {
             UniversalSensorScreen.maybeUpdateButtons();
+        } else {
+            UniversalSensorHandler.updateSensor(this, currentSensor);
+            updateBlockChangeWatch();
         }
     }
 
@@ -325,6 +425,7 @@ public class UniversalSensorBlockEntity extends AbstractAirHandlingBlockEntity i
 
         rangeManager.setRange(getUpgrades(ModUpgrades.RANGE.get()) + BASE_RANGE);
         setupGPSPositions();
+        UniversalSensorHandler.updateSensor(this, currentSensor);
     }
 
     public boolean areGivenUpgradesInserted(Set<PNCUpgrade> requiredUpgrades) {
@@ -358,7 +459,11 @@ public class UniversalSensorBlockEntity extends AbstractAirHandlingBlockEntity i
             positions.addAll(gpsPositions);
             outOfRange = posList.size() - gpsPositions.size();
         }
-        if (getLevel() != null && getLevel().isClientSide) UniversalSensorScreen.maybeUpdateButtons();
+        if (getLevel() != null && getLevel().isClientSide) {
+            UniversalSensorScreen.maybeUpdateButtons();
+        } else {
+            updateBlockChangeWatch();
+        }
     }
 
     @Override
@@ -523,12 +628,16 @@ public class UniversalSensorBlockEntity extends AbstractAirHandlingBlockEntity i
     public void setRemoved(){
         super.setRemoved();
         GlobalTileEntityCacheManager.getInstance().universalSensors.remove(this);
+        UniversalSensorHandler.removeSensor(this);
+        BlockSensorTracker.unwatch(this);
     }
 
     @Override
     public void clearRemoved(){
         super.clearRemoved();
         GlobalTileEntityCacheManager.getInstance().universalSensors.add(this);
+        UniversalSensorHandler.updateSensor(this, currentSensor);
+        updateBlockChangeWatch();
     }
 
     @Nullable
@@ -30,6 +30,7 @@ import me.desht.pneumaticcraft.common.inventory.VacuumTrapMenu;
 import me.desht.pneumaticcraft.common.item.SpawnerCoreItem.SpawnerCoreItemHandler;
 import me.desht.pneumaticcraft.common.network.DescSynced;
 import me.desht.pneumaticcraft.common.network.GuiSynced;
+import me.desht.pneumaticcraft.common.util.EntityQueryBroker;
 import me.desht.pneumaticcraft.common.util.ITranslatableEnum;
 import me.desht.pneumaticcraft.common.util.PNCFluidTank;
 import me.desht.pneumaticcraft.lib.PneumaticValues;
@@ -82,6 +83,7 @@ public class VacuumTrapBlockEntity extends AbstractAirHandlingBlockEntity implem
     private final LazyOptional<IItemHandler> invCap = LazyOptional.of(() -> inv);
 
     private final List<Mob> targetEntities = new ArrayList<>();
+    private final EntityQueryBroker.ScanBackoff entityScan = new EntityQueryBroker.ScanBackoff(16, 64);
 
     private final RangeManager rangeManager = new RangeManager(this, 0x60600060);
 
@@ -123,8 +125,9 @@ public class VacuumTrapBlockEntity extends AbstractAirHandlingBlockEntity implem
         isCoreLoaded = inv.getStats() != null;
 
         if (isOpen() && isCoreLoaded && inv.getStats().getUnusedPercentage() > 0 && getPressure() <= getMinWorkingPressure()) {
-            if ((nonNullLevel().getGameTime() & 0xf) == 0) {
+            if (entityScan.tick()) {
                 scanForEntities();
+                entityScan.onScanned(targetEntities.isEmpty());
             }
             Vec3 trapVec = Vec3.atCenterOf(worldPosition);
             double min = nonNullLevel().getFluidState(worldPosition).getType() == Fluids.WATER ? 2.5 : 1.75;
@@ -167,7 +170,7 @@ public class VacuumTrapBlockEntity extends AbstractAirHandlingBlockEntity implem
 
     private void scanForEntities() {
         targetEntities.clear();
-        targetEntities.addAll(nonNullLevel().getEntitiesOfClass(Mob.class, rangeManager.getExtents(), this::isApplicable));
+        targetEntities.addAll(EntityQueryBroker.getEntitiesOfClass(nonNullLevel(), Mob.class, rangeManager.getExtents(), this::isApplicable));
     }
 
     private boolean isApplicable(LivingEntity e) {
@@ -25,6 +25,7 @@ import me.desht.pneumaticcraft.api.tileentity.IAirHandlerMachine;
 import me.desht.pneumaticcraft.api.tileentity.IAirListener;
 import me.desht.pneumaticcraft.api.tileentity.IManoMeasurable;
 import me.desht.pneumaticcraft.client.sound.MovingSounds;
+import me.desht.pneumaticcraft.common.config.ConfigHelper;
 import me.desht.pneumaticcraft.common.core.ModSounds;
 import me.desht.pneumaticcraft.common.network.NetworkHandler;
 import me.desht.pneumaticcraft.common.network.PacketUpdatePressureBlock;
@@ -46,13 +47,20 @@ import net.minecraftforge.common.util.LazyOptional;
 
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 /**
  * A ticking air handler owned by a block entity, which disperses air to those neighbouring air handlers
- * which have lower pressure than it does.
+ * which have lower pressure than it does. If pressure networks are enabled in config, eligible handlers instead
+ * share their air with the rest of their {@link PressureNetwork}.
  */
 public class MachineAirHandler extends BasicAirHandler implements IAirHandlerMachine, IManoMeasurable {
+    // handlers which have been idle for this many ticks go dormant until something wakes them up again
+    private static final int TICKS_BEFORE_DORMANT = 20;
+    // max change in air amount over the idle period which still counts as idle
+    private static final int DORMANT_AIR_THRESHOLD = 2;
+
     private final PressureTier tier;
     private int volumeUpgrades = 0;
     private final BitSet connectedFaces = new BitSet(6);
@@ -66,12 +74,32 @@ public class MachineAirHandler extends BasicAirHandler implements IAirHandlerMac
     private Direction safetyLeakDir; // direction handler would vent in (non-null does not mean actively venting)
     private Predicate<Float> safetyPredicate;  // for determining when safety venting is needed
 
+    // reusable connection objects, so that air dispersal doesn't create any garbage in the steady state
+    private final ConnectedAirHandler[] adjacentConnections = new ConnectedAirHandler[6];
+    private final List<ConnectedAirHandler> extraConnections = new ArrayList<>();
+    private final List<IAirHandlerMachine.Connection> connectionBuffer = new ArrayList<>(6);
+    private final Consumer<IAirHandlerMachine> extraConnectionCollector = this::collectExtraConnection;
+    private int nExtraConnections;
+    private boolean hasUntrackedConnections;
+    private boolean collectForDispersal;
+
+    // sleep/wake tracking: a dormant handler skips all server-side tick processing
+    private boolean dormant;
+    private int idleTicks;
+    private int idleStartAir;
+
+    // only used when pressure networks are enabled in config
+    private PressureNetwork network;
+    private boolean networkBoundary;  // connected to any handler outside the network?
+    private boolean networkRelinkNeeded = true;  // connections added since we last checked our neighbours' networks?
+
     public MachineAirHandler(PressureTier tier, int volume) {
         super(volume);
 
         this.tier = tier;
         for (Direction dir : DirectionUtil.VALUES) {
             this.neighbourAirHandlers.put(dir, LazyOptional.empty());
+            this.adjacentConnections[dir.get3DDataValue()] = new ConnectedAirHandler(dir);
         }
     }
 
@@ -90,11 +118,37 @@ public class MachineAirHandler extends BasicAirHandler implements IAirHandlerMac
         return tier.getCriticalPressure();
     }
 
+    @Override
+    public void addAir(int amount) {
+        super.addAir(amount);
+
+        if (amount != 0) {
+            wakeUp();
+            if (amount < 0) {
+                // our pressure has dropped, so any dormant neighbour might now have air to disperse to us
+                wakeHigherPressureNeighbours();
+            }
+        }
+    }
+
     @Override
     public void setPressure(float pressure) {
         addAir(((int) (pressure * getVolume())) - getAir());
     }
 
+    @Override
+    public void setBaseVolume(int newBaseVolume) {
+        int oldBaseVolume = getBaseVolume();
+        super.setBaseVolume(newBaseVolume);
+        if (newBaseVolume != oldBaseVolume) {
+            wakeUp();
+            if (newBaseVolume > oldBaseVolume) {
+                // our pressure has dropped (e.g. a pressure chamber has just formed), so dormant neighbours may disperse to us
+                wakeHigherPressureNeighbours();
+            }
+        }
+    }
+
     @Override
     public void setVolumeUpgrades(int newVolumeUpgrades) {
         int newVolume = PressureHelper.getUpgradedVolume(getBaseVolume(), newVolumeUpgrades);
@@ -103,23 +157,38 @@ public class MachineAirHandler extends BasicAirHandler implements IAirHandlerMac
             int newAir = (int) (getAir() * (float) newVolume / getVolume());
             addAir(newAir - getAir());
         }
-        this.volumeUpgrades = newVolumeUpgrades;
+        if (newVolumeUpgrades != volumeUpgrades) {
+            this.volumeUpgrades = newVolumeUpgrades;
+            wakeUp();
+            wakeHigherPressureNeighbours();
+        }
     }
 
     @Override
     public void enableSafetyVenting(Predicate<Float> pressureCheck, Direction dir) {
         this.safetyLeakDir = dir;
         this.safetyPredicate = pressureCheck;
+        wakeUp();
     }
 
     @Override
     public void disableSafetyVenting() {
         this.safetyLeakDir = null;
         this.safetyPredicate = null;
+        wakeUp();
     }
 
     @Override
     public void setConnectedFaces(List<Direction> sides) {
+        int newFaces = 0;
+        for (Direction side : sides) {
+            newFaces |= 1 << side.get3DDataValue();
+        }
+        boolean facesRemoved = false;
+        for (int i = connectedFaces.nextSetBit(0); i >= 0; i = connectedFaces.nextSetBit(i + 1)) {
+            if ((newFaces & 1 << i) == 0) facesRemoved = true;
+        }
+
         connectedFaces.clear();
         sides.forEach(side -> connectedFaces.set(side.get3DDataValue()));
 
@@ -127,6 +196,13 @@ public class MachineAirHandler extends BasicAirHandler implements IAirHandlerMac
         for (Direction dir : DirectionUtil.VALUES) {
             this.neighbourAirHandlers.put(dir, LazyOptional.empty());
         }
+        if (facesRemoved) {
+            // a lost connection may have split our network, which can't be worked out locally
+            invalidateNetwork();
+        }
+        // new connections can only join networks together, which is cheap; see PressureNetwork#attach()
+        networkRelinkNeeded = true;
+        wakeUp();
     }
 
     @Override
@@ -135,7 +211,27 @@ public class MachineAirHandler extends BasicAirHandler implements IAirHandlerMac
         Direction actualLeakDir = leakDir;
         if (!world.isClientSide) {
             // server
-            disperseAir(ownerTE);
+            boolean active;
+            if (ConfigHelper.common().advanced.pressureNetworks.get() && PressureNetwork.canJoin(this, ownerTE)) {
+                if (networkRelinkNeeded) {
+                    networkRelinkNeeded = false;
+                    PressureNetwork.attach(this, ownerTE);
+                } else if (network == null || !network.isValid()) {
+                    PressureNetwork.build(this, ownerTE);
+                }
+                network.solve(world.getGameTime());
+                if (networkBoundary) {
+                    disperseAir(ownerTE);
+                }
+                active = true;  // network members are never dormant; the network solve is cheap anyway
+            } else {
+                invalidateNetwork();
+                if (dormant) {
+                    // at equilibrium with no leaks; nothing can change until we're woken up
+                    return;
+                }
+                active = disperseAir(ownerTE);
+            }
 
             BlockPos pos = ownerTE.getBlockPos();
             if (safetyLeakDir != null) {
@@ -162,6 +258,8 @@ public class MachineAirHandler extends BasicAirHandler implements IAirHandlerMac
                 NetworkHandler.sendToAllTracking(new PacketUpdatePressureBlock(ownerTE, anyConnectedFace(), actualLeakDir, getAir()), ownerTE);
             }
 
+            updateDormancy(active || actualLeakDir != null || hasUntrackedConnections);
+
             prevAir = getAir();
             prevLeakDir = actualLeakDir;
         }
@@ -171,6 +269,33 @@ public class MachineAirHandler extends BasicAirHandler implements IAirHandlerMac
         }
     }
 
+    private void updateDormancy(boolean active) {
+        if (!active && Math.abs(getAir() - idleStartAir) <= DORMANT_AIR_THRESHOLD) {
+            if (++idleTicks >= TICKS_BEFORE_DORMANT) {
+                dormant = true;
+            }
+        } else {
+            idleTicks = 0;
+            idleStartAir = getAir();
+        }
+    }
+
+    private void wakeUp() {
+        dormant = false;
+        idleTicks = 0;
+        idleStartAir = getAir();
+    }
+
+    private void wakeHigherPressureNeighbours() {
+        float pressure = getPressure();
+        for (Direction dir : DirectionUtil.VALUES) {
+            if (neighbourAirHandlers.get(dir).orElse(null) instanceof MachineAirHandler mh
+                    && mh.dormant && mh.getPressure() > pressure) {
+                mh.wakeUp();
+            }
+        }
+    }
+
     private Direction anyConnectedFace() {
         for (Direction d : DirectionUtil.VALUES) {
             if (connectedFaces.get(d.get3DDataValue())) return d;
@@ -232,6 +357,9 @@ public class MachineAirHandler extends BasicAirHandler implements IAirHandlerMac
 
     @Override
     public void setSideLeaking(@Nullable Direction dir) {
+        if (dir != leakDir) {
+            wakeUp();
+        }
         this.leakDir = dir;
     }
 
@@ -241,7 +369,41 @@ public class MachineAirHandler extends BasicAirHandler implements IAirHandlerMac
         return this.leakDir;
     }
 
-    private LazyOptional<IAirHandlerMachine> getNeighbourAirHandler(BlockEntity ownerTE, Direction dir) {
+    void joinNetwork(PressureNetwork newNetwork, boolean boundary) {
+        if (network != null && network != newNetwork) {
+            network.invalidate();
+        }
+        network = newNetwork;
+        networkBoundary = boundary;
+    }
+
+    /**
+     * Move this handler into a network which is absorbing its current network. Unlike
+     * {@link #joinNetwork(PressureNetwork, boolean)}, the old network is not invalidated and the boundary flag is kept.
+     */
+    void transferNetwork(PressureNetwork newNetwork) {
+        network = newNetwork;
+    }
+
+    @Nullable
+    PressureNetwork getValidNetwork() {
+        return network != null && network.isValid() ? network : null;
+    }
+
+    void leaveNetwork(PressureNetwork oldNetwork) {
+        if (network == oldNetwork) {
+            network = null;
+            networkBoundary = false;
+        }
+    }
+
+    private void invalidateNetwork() {
+        if (network != null) {
+            network.invalidate();
+        }
+    }
+
+    LazyOptional<IAirHandlerMachine> getNeighbourAirHandler(BlockEntity ownerTE, Direction dir) {
         if (!connectedFaces.get(dir.get3DDataValue())) return LazyOptional.empty();
 
         if (!neighbourAirHandlers.get(dir).isPresent()) {
@@ -250,7 +412,11 @@ public class MachineAirHandler extends BasicAirHandler implements IAirHandlerMac
                 LazyOptional<IAirHandlerMachine> cap = te1.getCapability(PNCCapabilities.AIR_HANDLER_MACHINE_CAPABILITY, dir.getOpposite());
                 if (cap.isPresent()) {
                     neighbourAirHandlers.put(dir, cap);
-                    neighbourAirHandlers.get(dir).addListener(l -> neighbourAirHandlers.put(dir, LazyOptional.empty()));
+                    neighbourAirHandlers.get(dir).addListener(l -> {
+                        neighbourAirHandlers.put(dir, LazyOptional.empty());
+                        invalidateNetwork();
+                        wakeUp();
+                    });
                 }
             } else {
                 neighbourAirHandlers.put(dir, LazyOptional.empty());
@@ -259,52 +425,99 @@ public class MachineAirHandler extends BasicAirHandler implements IAirHandlerMac
         return neighbourAirHandlers.get(dir);
     }
 
-    private void disperseAir(BlockEntity ownerTE) {
+    /**
+     * Disperse air to all connected handlers with lower pressure.
+     *
+     * @param ownerTE the owning block entity
+     * @return true if any air was dispersed, or if dispersal was held back by a flow limit (e.g. a Regulator
+     *         Module), which could change without our air level changing
+     */
+    private boolean disperseAir(BlockEntity ownerTE) {
         // 1. build a list of all neighbouring and otherwise connected air handlers with a lower pressure than us
+        //    (note: this list and its connection objects are reused, so no garbage is created here)
         List<IAirHandlerMachine.Connection> neighbours = getConnectedAirHandlers(ownerTE, true);
+        int nNeighbours = neighbours.size();
+        if (nNeighbours == 0) return false;
 
         // 2. get the total volume and air amount in this and all connected handlers
         int totalVolume = this.getVolume();
         int totalAir = this.getAir();
-        for (IAirHandlerMachine.Connection neighbour : neighbours) {
-            totalVolume += neighbour.getAirHandler().getVolume();
-            totalAir += neighbour.getAirHandler().getAir();
+        for (int i = 0; i < nNeighbours; i++) {
+            IAirHandlerMachine neighbourHandler = neighbours.get(i).getAirHandler();
+            totalVolume += neighbourHandler.getVolume();
+            totalAir += neighbourHandler.getAir();
         }
 
         // 3. figure out how much air will be dispersed to each neighbour
-        for (IAirHandlerMachine.Connection neighbour: neighbours) {
+        for (int i = 0; i < nNeighbours; i++) {
+            IAirHandlerMachine.Connection neighbour = neighbours.get(i);
             int totalMachineAir = (int) ((long) totalAir * neighbour.getAirHandler().getVolume() / totalVolume);
             neighbour.setMaxDispersion(getMaxDispersion(ownerTE, neighbour.getDirection()));
             neighbour.setAirToDisperse(Math.max(0, totalMachineAir - neighbour.getAirHandler().getAir()));  // no backflow
         }
 
         // 4. finally, actually disperse the air
-        for (IAirHandlerMachine.Connection neighbour : neighbours) {
+        boolean active = false;
+        for (int i = 0; i < nNeighbours; i++) {
+            IAirHandlerMachine.Connection neighbour = neighbours.get(i);
             int air = Math.min(neighbour.getMaxDispersion(), neighbour.getDispersedAir());
+            if (air != 0 || neighbour.getMaxDispersion() < neighbour.getDispersedAir()) {
+                active = true;
+            }
             if (air != 0) {
                 onAirDispersion(ownerTE, neighbour.getDirection(), air);
                 neighbour.getAirHandler().addAir(air);
                 addAir(-air);
             }
         }
+        return active;
     }
 
-    private List<Connection> getConnectedAirHandlers(BlockEntity ownerTE, boolean onlyLowerPressure) {
-        List<IAirHandlerMachine.Connection> neighbours = new ArrayList<>();
+    /**
+     * Fill the reusable connection buffer with all connected air handlers.
+     *
+     * @param ownerTE the owning block entity
+     * @param forDispersal if true, only include handlers with lower pressure than this one, and which aren't
+     *                     already sharing air with this one via a pressure network
+     * @return the connection buffer; only valid until the next call to this method
+     */
+    private List<Connection> getConnectedAirHandlers(BlockEntity ownerTE, boolean forDispersal) {
+        connectionBuffer.clear();
+        collectForDispersal = forDispersal;
+        hasUntrackedConnections = false;
         for (Direction dir : DirectionUtil.VALUES) {
             if (connectedFaces.get(dir.get3DDataValue())) {
-                getNeighbourAirHandler(ownerTE, dir).ifPresent(h -> {
-                    if ((!onlyLowerPressure || h.getPressure() < getPressure())) {
-                        neighbours.add(new ConnectedAirHandler(dir, h));
-                    }
-                });
+                IAirHandlerMachine h = getNeighbourAirHandler(ownerTE, dir).orElse(null);
+                if (h != null && !(h instanceof MachineAirHandler)) {
+                    // can't be relied upon to wake us up when its pressure drops
+                    hasUntrackedConnections = true;
+                }
+                if (h != null && shouldCollect(h)) {
+                    connectionBuffer.add(adjacentConnections[dir.get3DDataValue()].reset(h));
+                }
+            }
+        }
+        if (ownerTE instanceof IAirListener listener) {
+            nExtraConnections = 0;
+            listener.forEachConnectedPneumatic(extraConnectionCollector);
+        }
+        return connectionBuffer;
+    }
+
+    private void collectExtraConnection(IAirHandlerMachine h) {
+        // extra connections don't wake us up when their pressure drops, so their presence prevents dormancy
+        hasUntrackedConnections = true;
+        if (shouldCollect(h)) {
+            if (nExtraConnections == extraConnections.size()) {
+                extraConnections.add(new ConnectedAirHandler(null));
             }
+            connectionBuffer.add(extraConnections.get(nExtraConnections++).reset(h));
         }
-        neighbours.addAll(addExtraConnectedHandlers(ownerTE).stream()
-                .filter(h -> !onlyLowerPressure || h.getPressure() < getPressure())
-                .map(ConnectedAirHandler::new)
-                .toList());
-        return neighbours;
+    }
+
+    private boolean shouldCollect(IAirHandlerMachine h) {
+        return !collectForDispersal
+                || h.getPressure() < getPressure() && !(network != null && h instanceof MachineAirHandler mh && mh.network == network);
     }
 
     @Override
@@ -318,6 +531,7 @@ public class MachineAirHandler extends BasicAirHandler implements IAirHandlerMac
     public void deserializeNBT(CompoundTag nbt) {
         super.deserializeNBT(nbt);
         leakDir = nbt.contains("Leaking") ? Direction.from3DDataValue(nbt.getByte("Leaking")) : null;
+        wakeUp();
     }
 
     @Override
@@ -325,13 +539,6 @@ public class MachineAirHandler extends BasicAirHandler implements IAirHandlerMac
         return getConnectedAirHandlers(ownerTE, false);
     }
 
-    private List<IAirHandlerMachine> addExtraConnectedHandlers(BlockEntity ownerTE) {
-        if (ownerTE instanceof IAirListener) {
-            return ((IAirListener) ownerTE).addConnectedPneumatics(new ArrayList<>());
-        }
-        return Collections.emptyList();
-    }
-
     private void onAirDispersion(BlockEntity ownerTE, Direction dir, int airDispersed) {
         if (ownerTE instanceof IAirListener) {
             ((IAirListener) ownerTE).onAirDispersion(this, dir, airDispersed);
@@ -354,17 +561,19 @@ public class MachineAirHandler extends BasicAirHandler implements IAirHandlerMac
 
     private static class ConnectedAirHandler implements IAirHandlerMachine.Connection {
         final Direction direction; // may be null
-        final IAirHandlerMachine airHandler;
+        IAirHandlerMachine airHandler;
         int maxDispersion;
         int toDisperse;
 
-        ConnectedAirHandler(Direction direction, IAirHandlerMachine airHandler) {
+        ConnectedAirHandler(@Nullable Direction direction) {
             this.direction = direction;
-            this.airHandler = airHandler;
         }
 
-        ConnectedAirHandler(IAirHandlerMachine airHandler) {
-            this(null, airHandler);
+        ConnectedAirHandler reset(IAirHandlerMachine airHandler) {
+            this.airHandler = airHandler;
+            this.maxDispersion = 0;
+            this.toDisperse = 0;
+            return this;
         }
 
         @Override
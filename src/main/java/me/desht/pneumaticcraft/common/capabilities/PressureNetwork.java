@@ -0,0 +1,215 @@
+/*
+ * This file is part of pnc-repressurized.
+ *
+ *     pnc-repressurized is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     pnc-repressurized is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with pnc-repressurized.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.desht.pneumaticcraft.common.capabilities;
+
+import me.desht.pneumaticcraft.api.tileentity.IAirHandlerMachine;
+import me.desht.pneumaticcraft.api.tileentity.IAirListener;
+import me.desht.pneumaticcraft.common.util.DirectionUtil;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+
+import java.util.*;
+
+/**
+ * A group of directly-connected machine air handlers which share a single air pool. Only used when pressure networks
+ * are enabled in config; the whole network is equalised once per tick, weighted by handler volume, instead of each
+ * handler dispersing air to its lower-pressure neighbours individually.
+ * <p>
+ * Networks are built lazily by the first member to tick. When a handler gains connections (e.g. a newly placed tube),
+ * it merges its neighbours' networks into the largest of them without any flood fill; see {@link #attach(MachineAirHandler, BlockEntity)}.
+ * A lost connection could split a network, which can't be worked out locally, so in that case (a member losing a
+ * connected face, or a neighbour's capability being invalidated) the whole network is discarded and the next member
+ * to tick rebuilds it. Members which are connected to handlers outside the network (e.g. a tube with a Regulator Module, or
+ * a Pressure Chamber valve) are marked as boundary members, and continue to disperse air across those connections in
+ * the normal way.
+ */
+class PressureNetwork {
+    private final List<MachineAirHandler> members = new ArrayList<>();
+    private long lastSolvedTick = -1L;
+    private boolean valid = true;
+
+    private PressureNetwork() {
+    }
+
+    /**
+     * Check if the given handler is eligible for pressure network membership.
+     *
+     * @param handler the air handler
+     * @param owner the air handler's owning block entity
+     * @return true if the handler can be part of a pressure network
+     */
+    static boolean canJoin(IAirHandlerMachine handler, BlockEntity owner) {
+        return handler instanceof MachineAirHandler
+                && (!(owner instanceof IAirListener listener) || listener.canJoinPressureNetwork(handler));
+    }
+
+    /**
+     * Build a new network by flood-filling outwards from the given handler.
+     *
+     * @param start the handler to start from
+     * @param startOwner the handler's owning block entity
+     * @return the new network, which has already been assigned to all of its members
+     */
+    static PressureNetwork build(MachineAirHandler start, BlockEntity startOwner) {
+        PressureNetwork network = new PressureNetwork();
+        Level level = Objects.requireNonNull(startOwner.getLevel());
+
+        Set<MachineAirHandler> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Node> queue = new ArrayDeque<>();
+        queue.add(new Node(start, startOwner));
+        visited.add(start);
+
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            MachineAirHandler handler = node.handler();
+            boolean boundary = isExtraConnected(node.owner());
+            for (Direction dir : DirectionUtil.VALUES) {
+                IAirHandlerMachine neighbour = handler.getNeighbourAirHandler(node.owner(), dir).orElse(null);
+                if (neighbour == null) continue;
+                BlockEntity neighbourOwner = level.getBlockEntity(node.owner().getBlockPos().relative(dir));
+                if (neighbourOwner != null && canJoin(neighbour, neighbourOwner)) {
+                    MachineAirHandler mh = (MachineAirHandler) neighbour;
+                    if (visited.add(mh)) {
+                        queue.add(new Node(mh, neighbourOwner));
+                    }
+                } else {
+                    boundary = true;
+                }
+            }
+            network.members.add(handler);
+            handler.joinNetwork(network, boundary);
+        }
+
+        return network;
+    }
+
+    /**
+     * Add a handler whose connections have changed to its neighbours' networks, merging those networks into the
+     * largest of them, and update the handler's boundary status. Only the handler's immediate neighbours are examined;
+     * if none of them has a network yet, this falls back to a full {@link #build(MachineAirHandler, BlockEntity)}.
+     *
+     * @param handler the handler
+     * @param owner the handler's owning block entity
+     */
+    static void attach(MachineAirHandler handler, BlockEntity owner) {
+        Level level = Objects.requireNonNull(owner.getLevel());
+
+        PressureNetwork target = handler.getValidNetwork();
+        List<PressureNetwork> toMerge = new ArrayList<>(2);
+        boolean boundary = isExtraConnected(owner);
+        for (Direction dir : DirectionUtil.VALUES) {
+            IAirHandlerMachine neighbour = handler.getNeighbourAirHandler(owner, dir).orElse(null);
+            if (neighbour == null) continue;
+            BlockEntity neighbourOwner = level.getBlockEntity(owner.getBlockPos().relative(dir));
+            if (neighbourOwner != null && canJoin(neighbour, neighbourOwner)) {
+                PressureNetwork n = ((MachineAirHandler) neighbour).getValidNetwork();
+                if (n == null) {
+                    // not networked yet; it'll attach itself to us (or flood-fill a new network) when it next ticks
+                    continue;
+                }
+                if (n != target && !toMerge.contains(n)) {
+                    if (target == null || n.members.size() > target.members.size()) {
+                        if (target != null) toMerge.add(target);
+                        target = n;
+                    } else {
+                        toMerge.add(n);
+                    }
+                }
+            } else {
+                boundary = true;
+            }
+        }
+        if (target == null) {
+            // no networked neighbours, and no network of our own
+            build(handler, owner);
+            return;
+        }
+
+        for (PressureNetwork other : toMerge) {
+            target.absorb(other);
+        }
+        if (handler.getValidNetwork() != target) {
+            target.members.add(handler);
+        }
+        handler.joinNetwork(target, boundary);
+    }
+
+    private void absorb(PressureNetwork other) {
+        for (MachineAirHandler member : other.members) {
+            member.transferNetwork(this);
+            members.add(member);
+        }
+        other.members.clear();
+        other.valid = false;
+    }
+
+    // extra non-adjacent connections (see IAirListener#addConnectedPneumatics) always need individual dispersal
+    private static boolean isExtraConnected(BlockEntity owner) {
+        return owner instanceof IAirListener listener && !listener.addConnectedPneumatics(new ArrayList<>()).isEmpty();
+    }
+
+    boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Discard this network; all members will be rebuilt into new networks when they next tick.
+     */
+    void invalidate() {
+        if (valid) {
+            valid = false;
+            members.forEach(member -> member.leaveNetwork(this));
+            members.clear();
+        }
+    }
+
+    /**
+     * Equalise air across the network. Only the first call in any given tick has any effect.
+     *
+     * @param gameTime the current level game time
+     */
+    void solve(long gameTime) {
+        if (!valid || gameTime == lastSolvedTick) return;
+        lastSolvedTick = gameTime;
+
+        long totalAir = 0L;
+        long totalVolume = 0L;
+        for (MachineAirHandler member : members) {
+            totalAir += member.getAir();
+            totalVolume += member.getVolume();
+        }
+        if (totalVolume <= 0L) return;
+
+        // distribute by cumulative volume, so that rounding never creates or destroys any air
+        long cumulativeVolume = 0L;
+        long allocated = 0L;
+        for (MachineAirHandler member : members) {
+            cumulativeVolume += member.getVolume();
+            long upTo = Math.floorDiv(totalAir * cumulativeVolume, totalVolume);
+            int share = (int) (upTo - allocated);
+            allocated = upTo;
+            if (share != member.getAir()) {
+                member.addAir(share - member.getAir());
+            }
+        }
+    }
+
+    private record Node(MachineAirHandler handler, BlockEntity owner) {
+    }
+}
@@ -31,6 +31,7 @@ import me.desht.pneumaticcraft.common.network.PacketSetGlobalVariable;
 import me.desht.pneumaticcraft.common.util.GlobalPosHelper;
 import me.desht.pneumaticcraft.common.util.IOHelper;
 import me.desht.pneumaticcraft.common.util.PneumaticCraftUtils;
+import me.desht.pneumaticcraft.common.util.ThreadedSorter;
 import me.desht.pneumaticcraft.common.variables.GlobalVariableHelper;
 import me.desht.pneumaticcraft.common.variables.GlobalVariableManager;
 import net.minecraft.ChatFormatting;
@@ -92,6 +93,10 @@ public class ModCommands {
                                 .executes(ModCommands::listGlobalVars)
                         )
                 )
+                .then(literal("drone_sort_stats")
+                        .requires(cs -> cs.hasPermission(2))
+                        .executes(ModCommands::droneSortStats)
+                )
                 .then(literal("amadrone_deliver")
                         .requires(cs -> cs.hasPermission(2))
                         .then(argument("toPos", BlockPosArgument.blockPos())
@@ -125,6 +130,13 @@ public class ModCommands {
         return 0;
     }
 
+    private static int droneSortStats(CommandContext<CommandSourceStack> ctx) {
+        ThreadedSorter.Stats stats = ThreadedSorter.getStats();
+        ctx.getSource().sendSuccess(new TextComponent(String.format("Drone area sorting: %d threads (%d busy), %d queued, %d completed, last %.2fms, avg %.2fms",
+                stats.poolSize(), stats.active(), stats.queued(), stats.completed(), stats.lastSortMs(), stats.avgSortMs())), false);
+        return 1;
+    }
+
     private static int amadroneDeliver(CommandSourceStack source, BlockPos toPos, BlockPos fromPos) {
         BlockEntity te = source.getLevel().getBlockEntity(fromPos);
 
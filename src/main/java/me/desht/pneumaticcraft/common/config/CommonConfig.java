@@ -65,6 +65,7 @@ public class CommonConfig {
         public ForgeConfigSpec.DoubleValue speedUpgradeSpeedMultiplier;
         public ForgeConfigSpec.DoubleValue speedUpgradeUsageMultiplier;
         public ForgeConfigSpec.ConfigValue<List<String>> disenchantingBlacklist;
+        public ForgeConfigSpec.IntValue blockSensorRescanInterval;
     }
     public static class Armor {
         public ForgeConfigSpec.IntValue jetBootsAirUsage;
@@ -88,6 +89,11 @@ public class CommonConfig {
         public ForgeConfigSpec.IntValue pressureSyncPrecision;
         public ForgeConfigSpec.BooleanValue dontUpdateInfiniteWaterSources;
         public ForgeConfigSpec.BooleanValue nbtToClientModification;
+        public ForgeConfigSpec.BooleanValue pressureNetworks;
+        public ForgeConfigSpec.IntValue descSyncPollInterval;
+        public ForgeConfigSpec.BooleanValue descSyncBatching;
+        public ForgeConfigSpec.IntValue descSyncFloatPrecision;
+        public ForgeConfigSpec.BooleanValue sharedEntityQueries;
     }
     public static class Micromissiles {
         public ForgeConfigSpec.DoubleValue baseExplosionDamage;
@@ -146,6 +152,7 @@ public class CommonConfig {
         public ForgeConfigSpec.DoubleValue ambientTemperatureBiomeModifier;
         public ForgeConfigSpec.DoubleValue ambientTemperatureHeightModifier;
         public ForgeConfigSpec.DoubleValue airThermalResistance;
+        public ForgeConfigSpec.BooleanValue heatNetworks;
     }
     public static class Logistics {
         public ForgeConfigSpec.DoubleValue itemTransportCost;
@@ -170,6 +177,10 @@ public class CommonConfig {
         public ForgeConfigSpec.IntValue maxDroneTeleportRange;
         public ForgeConfigSpec.BooleanValue droneDebuggerPathParticles;
         public ForgeConfigSpec.BooleanValue enableDroneSuffocation;
+        public ForgeConfigSpec.IntValue areaSortThreads;
+        public ForgeConfigSpec.BooleanValue asyncPathfinding;
+        public ForgeConfigSpec.IntValue asyncPathfindingThreads;
+        public ForgeConfigSpec.IntValue asyncPathResultsPerTick;
     }
 
     public final General general = new General();
@@ -345,6 +356,10 @@ public class CommonConfig {
                 .comment("Blacklist items from being allowed in the Pressure Chamber disenchanting system. This is a starts-with string match, so you can match by mod, or individual item names as you need. Blacklisted by default are Quark Ancient Tomes, and all Tetra items; both can lead to enchantment duping as they have special enchantment mechanics.")
                 .translation("pneumaticcraft.config.common.machines.disenchanting_blacklist")
                 .define("disenchanting_blacklist", Lists.newArrayList("quark:ancient_tome", "tetra:"));
+        machines.blockSensorRescanInterval = builder
+                .comment("Universal Sensor block sensors (presence, light level, redstone) only check their area when a block in or near it changes. Since not every block change can be detected, they also rescan their whole area at this interval, in ticks. Set to 0 to never rescan.")
+                .translation("pneumaticcraft.config.common.machine_properties.block_sensor_rescan_interval")
+                .defineInRange("block_sensor_rescan_interval", 200, 0, Integer.MAX_VALUE);
         builder.pop();
 
         builder.push("Pneumatic Armor");
@@ -398,6 +413,26 @@ public class CommonConfig {
         advanced.nbtToClientModification = builder
                 .comment("When set to true, server will strip NBT data from pressurizable items (pneumatic armor, drones...) which the client doesn't care about. Good for saving on network chatter, but can cause players to be kicked under some circumstances. If this occurs, set this config value to false.")
                 .define("nbt_to_client_modification", true);
+        advanced.pressureNetworks = builder
+                .comment("When set to true, directly connected pressure tubes and machines are merged into pressure networks, which share a single air pool and are equalised once per tick, rather than every air handler dispersing air to its neighbours individually. Much cheaper on servers with large tube networks, but air spreads through a network instantly. Tubes with modules which control or monitor air flow (e.g. Regulator or Flow Detector) always disperse air individually.")
+                .translation("pneumaticcraft.config.common.advanced.pressure_networks")
+                .define("pressure_networks", false);
+        advanced.descSyncPollInterval = builder
+                .comment("Interval, in ticks, at which block entities check their client-synced fields for changes. Fields which are explicitly marked as changed by their block entity are always synced on the next tick, regardless of this setting. Higher values reduce server CPU usage with many machines, at the cost of some clientside display lag.")
+                .translation("pneumaticcraft.config.common.advanced.desc_sync_poll_interval")
+                .defineInRange("desc_sync_poll_interval", 1, 1, 100);
+        advanced.descSyncBatching = builder
+                .comment("When set to true, block entity sync data is collected over each server tick and sent as one packet per chunk at the end of the tick, rather than as one packet per block entity. Greatly reduces packet counts for players near busy bases.")
+                .translation("pneumaticcraft.config.common.advanced.desc_sync_batching")
+                .define("desc_sync_batching", true);
+        advanced.descSyncFloatPrecision = builder
+                .comment("Number of decimal places to which floating point block entity data (e.g. pressure) is synced to clients. Lower values reduce server->client network traffic; -1 syncs with full precision.")
+                .translation("pneumaticcraft.config.common.advanced.desc_sync_float_precision")
+                .defineInRange("desc_sync_float_precision", -1, -1, 6);
+        advanced.sharedEntityQueries = builder
+                .comment("When set to true, machines which scan an area for entities (hoppers, air grates, sentry turrets, vacuum traps, etc.) share one set of entity lookups per tick, rather than each searching the level separately. Reduces server CPU usage where many such machines are close together, e.g. in mob farms.")
+                .translation("pneumaticcraft.config.common.advanced.shared_entity_queries")
+                .define("shared_entity_queries", true);
         builder.pop();
 
         builder.push("Micromissile Properties");
@@ -628,6 +663,10 @@ public class CommonConfig {
                 .comment("Automatically register heat properties for all detected modded fluids based on their self-defined temperature? (note: vanilla lava and water are always added)")
                 .translation("pneumaticcraft.config.common.blockHeatDefaults.addDefaultFluidEntries")
                 .define("addDefaultFluidEntries", true);
+        heat.heatNetworks = builder
+                .comment("When set to true, connected heat exchangers (e.g. arrays of heat sinks, heat pipes and machines) are grouped into heat networks, and heat exchange within each network is simulated in a single batched pass per tick, instead of each heat exchanger handling its own connections. Heat transfer results are the same, but large heat setups are much cheaper to run.")
+                .translation("pneumaticcraft.config.common.blockHeatDefaults.heatNetworks")
+                .define("heatNetworks", false);
         builder.pop();
 
         builder.push("Logistics");
@@ -706,6 +745,22 @@ public class CommonConfig {
                 .comment("If a Drone has found a path, but gets stuck on a block along that path, it will teleport to its destination after this many ticks of being stuck. Set this to 0 to disable teleporting, which will likely leave the drone waiting there forever (or until it runs out of air). Note that getting stuck on a block is usually the fault of the mod that added the block (especially if the block has a non-full-cube shape), but if you encounter this behaviour, please report it as a PneumaticCraft: Repressurized issue so it can be investigated.")
                 .translation("pneumaticcraft.config.common.advanced.stuck_drone_teleport_ticks")
                 .defineInRange("stuck_drone_teleport_ticks", 20, 0, Integer.MAX_VALUE);
+        drones.areaSortThreads = builder
+                .comment("Number of worker threads shared by all drones for sorting the areas they work on (e.g. when digging or placing blocks). Larger values help when many drones with very large areas start work at the same time. Changes take effect when the server is next started.")
+                .translation("pneumaticcraft.config.common.advanced.area_sort_threads")
+                .defineInRange("area_sort_threads", 2, 1, 16);
+        drones.asyncPathfinding = builder
+                .comment("When true, drone paths are computed on worker threads against a copy of the blocks around the drone, rather than on the main server thread. Drones hover in place until their path is ready. Can help servers with many drones flying long or complex paths.")
+                .translation("pneumaticcraft.config.common.advanced.async_pathfinding")
+                .define("async_pathfinding", false);
+        drones.asyncPathfindingThreads = builder
+                .comment("Number of worker threads shared by all drones for computing paths, when async_pathfinding is enabled. Changes take effect when the server is next started.")
+                .translation("pneumaticcraft.config.common.advanced.async_pathfinding_threads")
+                .defineInRange("async_pathfinding_threads", 2, 1, 16);
+        drones.asyncPathResultsPerTick = builder
+                .comment("Maximum number of computed drone paths applied per server tick, when async_pathfinding is enabled. Any further paths are applied on following ticks.")
+                .translation("pneumaticcraft.config.common.advanced.async_path_results_per_tick")
+                .defineInRange("async_path_results_per_tick", 20, 1, Integer.MAX_VALUE);
         builder.pop();
     }
 }
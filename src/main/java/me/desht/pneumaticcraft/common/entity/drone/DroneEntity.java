@@ -24,16 +24,13 @@ import me.desht.pneumaticcraft.api.block.IPneumaticWrenchable;
 import me.desht.pneumaticcraft.api.client.pneumatic_helmet.IHackableEntity;
 import me.desht.pneumaticcraft.api.drone.IDrone;
 import me.desht.pneumaticcraft.api.drone.IPathNavigator;
-import me.desht.pneumaticcraft.api.drone.IPathfindHandler;
 import me.desht.pneumaticcraft.api.drone.ProgWidgetType;
 import me.desht.pneumaticcraft.api.item.PNCUpgrade;
 import me.desht.pneumaticcraft.api.lib.NBTKeys;
 import me.desht.pneumaticcraft.api.pressure.PressureHelper;
-import me.desht.pneumaticcraft.api.semiblock.SemiblockEvent;
 import me.desht.pneumaticcraft.api.tileentity.IAirHandler;
 import me.desht.pneumaticcraft.api.tileentity.IManoMeasurable;
 import me.desht.pneumaticcraft.client.util.ProgressingLine;
-import me.desht.pneumaticcraft.common.DroneRegistry;
 import me.desht.pneumaticcraft.common.ai.*;
 import me.desht.pneumaticcraft.common.ai.DroneAIManager.WrappedGoal;
 import me.desht.pneumaticcraft.common.block.entity.PneumaticEnergyStorage;
@@ -42,7 +39,6 @@ import me.desht.pneumaticcraft.common.capabilities.BasicAirHandler;
 import me.desht.pneumaticcraft.common.config.ConfigHelper;
 import me.desht.pneumaticcraft.common.core.*;
 import me.desht.pneumaticcraft.common.debug.DroneDebugger;
-import me.desht.pneumaticcraft.common.entity.semiblock.AbstractLogisticsFrameEntity;
 import me.desht.pneumaticcraft.common.item.DroneItem;
 import me.desht.pneumaticcraft.common.item.GPSToolItem;
 import me.desht.pneumaticcraft.common.item.ItemRegistry;
@@ -118,7 +114,6 @@ import net.minecraft.world.level.material.Material;
 import net.minecraft.world.level.pathfinder.BlockPathTypes;
 import net.minecraft.world.level.pathfinder.Node;
 import net.minecraft.world.level.pathfinder.Path;
-import net.minecraft.world.level.pathfinder.PathComputationType;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.capabilities.Capability;
@@ -128,7 +123,6 @@ import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.energy.CapabilityEnergy;
 import net.minecraftforge.energy.IEnergyStorage;
 import net.minecraftforge.entity.IEntityAdditionalSpawnData;
-import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fluids.FluidUtil;
 import net.minecraftforge.fluids.IFluidTank;
 import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
@@ -255,16 +249,6 @@ public class DroneEntity extends AbstractDroneEntity implements
         this(ModEntityTypes.DRONE.get(), world, player);
     }
 
-    @SubscribeEvent
-    public void onSemiblockEvent(SemiblockEvent event) {
-        if (!event.getWorld().isClientSide && event.getWorld() == getCommandSenderWorld()
-                && event.getSemiblock() instanceof AbstractLogisticsFrameEntity) {
-            // semiblock has been added or removed; clear the cached logistics manager
-            // next DroneAILogistics operation will search the area again
-            logisticsManager = null;
-        }
-    }
-
     @Override
     protected PathNavigation createNavigation(Level worldIn) {
         EntityPathNavigateDrone nav = new EntityPathNavigateDrone(this, worldIn);
@@ -523,8 +507,6 @@ public class DroneEntity extends AbstractDroneEntity implements
 
     private void onFirstTick() {
         if (!level.isClientSide) {
-            MinecraftForge.EVENT_BUS.register(this);
-
             double newDroneSpeed = 0.15f + Math.min(10, getUpgrades(ModUpgrades.SPEED.get())) * 0.015f;
             if (getUpgrades(ModUpgrades.ARMOR.get()) > 6) {
                 newDroneSpeed -= 0.01f * (getUpgrades(ModUpgrades.ARMOR.get()) - 6);
@@ -885,8 +867,6 @@ public class DroneEntity extends AbstractDroneEntity implements
         }
 
         setCustomName(new TextComponent(""));  // keep other mods (like CoFH Core) quiet about death message broadcasts
-
-        MinecraftForge.EVENT_BUS.unregister(this);
     }
 
     private void reportDroneDeath(Player owner, DamageSource damageSource) {
@@ -1169,37 +1149,7 @@ public class DroneEntity extends AbstractDroneEntity implements
 
     @Override
     public boolean isBlockValidPathfindBlock(BlockPos pos) {
-        if (level.isEmptyBlock(pos)) return true;
-        BlockState state = level.getBlockState(pos);
-        Block block = state.getBlock();
-        if (PneumaticCraftUtils.isBlockLiquid(block)) {
-            return securityUpgradeCount > 0;
-        }
-        if (checkMC181565kludge(block)) return false;
-        if (state.isPathfindable(level, pos, PathComputationType.LAND)) return true;
-        if (!state.getMaterial().blocksMotion() && block != Blocks.LADDER) return true;
-        if (DroneRegistry.getInstance().pathfindableBlocks.containsKey(block)) {
-            IPathfindHandler pathfindHandler = DroneRegistry.getInstance().pathfindableBlocks.get(block);
-            return pathfindHandler == null || pathfindHandler.canPathfindThrough(level, pos);
-        } else {
-            return false;
-        }
-    }
-
-    // temp workaround for https://bugs.mojang.com/browse/MC-181565
-    // some vanilla blocks with non-full shapes that don't override isPathfindable()
-    private static final Set<Block> MC181565_BLOCKS = Set.of(
-            Blocks.AMETHYST_CLUSTER,
-            Blocks.CANDLE,
-            Blocks.LILY_PAD,
-            Blocks.BIG_DRIPLEAF,
-            Blocks.POINTED_DRIPSTONE,
-            Blocks.TURTLE_EGG,
-            Blocks.AZALEA,
-            Blocks.HONEY_BLOCK
-    );
-    private static boolean checkMC181565kludge(Block block) {
-        return MC181565_BLOCKS.contains(block);
+        return DronePathfindCache.isPassable(level, pos, securityUpgradeCount > 0);
     }
 
     @Override
@@ -17,34 +17,110 @@
 
 package me.desht.pneumaticcraft.common.event;
 
+import me.desht.pneumaticcraft.api.universal_sensor.IEventSensorSetting;
+import me.desht.pneumaticcraft.api.universal_sensor.ISensorSetting;
 import me.desht.pneumaticcraft.common.block.entity.UniversalSensorBlockEntity;
-import me.desht.pneumaticcraft.common.util.GlobalTileEntityCacheManager;
+import me.desht.pneumaticcraft.common.sensor.SensorHandler;
+import me.desht.pneumaticcraft.common.util.GlobalTileEntityCacheManager.GlobalTileEntityCache;
+import me.desht.pneumaticcraft.common.util.GlobalTileEntityCacheManager.SpatialTileEntityCache;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
 import net.minecraftforge.event.entity.player.AttackEntityEvent;
 import net.minecraftforge.event.entity.player.EntityItemPickupEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.eventbus.api.Event;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Passes events of interest to Universal Sensors. Server-side sensors are registered here by the event types their
+ * current sensor setting reacts to; range-limited sensors are also indexed by the chunks their range covers, so an
+ * event is only passed to those sensors which could possibly react to it. Player sensors are found by the player's
+ * position, and block (GPS) sensors by the position of the block involved in the event.
+ */
 public class UniversalSensorHandler {
+    // block sensors get events with no block position (attacks, pickups) by the player's position, so allow for reach
+    private static final int REACH_MARGIN = 8;
+
+    private static final Map<Class<? extends Event>, SpatialTileEntityCache<UniversalSensorBlockEntity>> playerSensors = new HashMap<>();
+    private static final Map<Class<? extends Event>, SpatialTileEntityCache<UniversalSensorBlockEntity>> blockSensors = new HashMap<>();
+    private static final Map<Class<? extends Event>, GlobalTileEntityCache<UniversalSensorBlockEntity>> otherSensors = new HashMap<>();
+
+    static {
+        for (Class<? extends Event> type : IEventSensorSetting.ALL_EVENT_TYPES) {
+            // player sensors allow the player to be up to a block outside their nominal range (see PlayerEventSensor)
+            playerSensors.put(type, new SpatialTileEntityCache<>(te -> new AABB(te.getBlockPos()).inflate(te.getRange() + 1)));
+            blockSensors.put(type, new SpatialTileEntityCache<>(te -> new AABB(te.getBlockPos()).inflate(te.getRange() + REACH_MARGIN)));
+            otherSensors.put(type, new GlobalTileEntityCache<>());
+        }
+    }
+
+    /**
+     * Register (or re-register) a sensor for the events its setting reacts to. Call when the sensor's setting or range
+     * changes, or it's added to the world.
+     *
+     * @param te the Universal Sensor
+     * @param sensor its current sensor setting, may be null
+     */
+    public static void updateSensor(UniversalSensorBlockEntity te, @Nullable ISensorSetting sensor) {
+        removeSensor(te);
+        if (sensor instanceof IEventSensorSetting eventSensor && !te.isRemoved() && te.getLevel() != null && !te.getLevel().isClientSide) {
+            for (Class<? extends Event> type : eventSensor.getEventTypes()) {
+                GlobalTileEntityCache<UniversalSensorBlockEntity> cache;
+                if (!eventSensor.isRangeLimited()) {
+                    cache = otherSensors.get(type);
+                } else {
+                    cache = SensorHandler.isBlockEventSensor(eventSensor) ? blockSensors.get(type) : playerSensors.get(type);
+                }
+                if (cache != null) cache.add(te);
+            }
+        }
+    }
+
+    public static void removeSensor(UniversalSensorBlockEntity te) {
+        playerSensors.values().forEach(cache -> cache.remove(te));
+        blockSensors.values().forEach(cache -> cache.remove(te));
+        otherSensors.values().forEach(cache -> cache.remove(te));
+    }
+
+    @SubscribeEvent
+    public void onWorldUnloaded(WorldEvent.Unload event) {
+        playerSensors.values().forEach(cache -> cache.removeFromWorld(event.getWorld()));
+        blockSensors.values().forEach(cache -> cache.removeFromWorld(event.getWorld()));
+        otherSensors.values().forEach(cache -> cache.removeFromWorld(event.getWorld()));
+    }
+
     @SubscribeEvent
     public void onInteraction(PlayerInteractEvent event) {
-        sendEventToSensors(event.getEntity().level, event);
+        sendEventToSensors(event.getPlayer(), event.getPos(), PlayerInteractEvent.class, event);
     }
 
     @SubscribeEvent
     public void onPlayerAttack(AttackEntityEvent event) {
-        sendEventToSensors(event.getEntity().level, event);
+        sendEventToSensors(event.getPlayer(), event.getPlayer().blockPosition(), AttackEntityEvent.class, event);
     }
 
     @SubscribeEvent
     public void onItemPickUp(EntityItemPickupEvent event) {
-        sendEventToSensors(event.getEntity().level, event);
+        sendEventToSensors(event.getPlayer(), event.getPlayer().blockPosition(), EntityItemPickupEvent.class, event);
     }
 
-    private void sendEventToSensors(Level world, Event event) {
+    private void sendEventToSensors(Player player, BlockPos eventPos, Class<? extends Event> type, Event event) {
+        Level world = player.level;
         if (!world.isClientSide) {
-            for (UniversalSensorBlockEntity sensor : GlobalTileEntityCacheManager.getInstance().universalSensors) {
+            // copied, since sensors updating their neighbours could cause other sensors to be added or removed
+            List<UniversalSensorBlockEntity> sensors = new ArrayList<>(playerSensors.get(type).streamNear(world, player.blockPosition()).toList());
+            blockSensors.get(type).streamNear(world, eventPos).forEach(sensors::add);
+            otherSensors.get(type).stream().filter(te -> te.getLevel() == world).forEach(sensors::add);
+            for (UniversalSensorBlockEntity sensor : sensors) {
                 sensor.onEvent(event);
             }
         }
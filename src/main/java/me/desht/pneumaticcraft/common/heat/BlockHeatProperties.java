@@ -33,15 +33,15 @@ import net.minecraft.world.level.material.Fluids;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.registries.ForgeRegistries;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Iterator;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public enum BlockHeatProperties implements Iterable<HeatPropertiesRecipe> {
     INSTANCE;
 
     private final ArrayListMultimap<Block, HeatPropertiesRecipe> customHeatEntries = ArrayListMultimap.create();
+    // resolved entry (or lack of one) for each blockstate which has been looked up; cleared on recipe reload
+    private final Map<BlockState, Optional<HeatPropertiesRecipe>> stateCache = new ConcurrentHashMap<>();
 
     public static BlockHeatProperties getInstance() {
         return INSTANCE;
@@ -51,10 +51,10 @@ public enum BlockHeatProperties implements Iterable<HeatPropertiesRecipe> {
         if (customHeatEntries.isEmpty()) {
             populateCustomHeatEntries(world);
         }
-        return customHeatEntries.get(state.getBlock()).stream()
-                .filter(entry -> entry.matchState(state))
+        return stateCache.computeIfAbsent(state, k -> customHeatEntries.get(k.getBlock()).stream()
+                .filter(entry -> entry.matchState(k))
                 .findFirst()
-                .orElse(null);
+        ).orElse(null);
     }
 
     public Collection<HeatPropertiesRecipe> getAllEntries(Level world) {
@@ -66,10 +66,12 @@ public enum BlockHeatProperties implements Iterable<HeatPropertiesRecipe> {
 
     public void clear() {
         customHeatEntries.clear();
+        stateCache.clear();
     }
 
     public void register(Block block, HeatPropertiesRecipe entry) {
         customHeatEntries.put(block, entry);
+        stateCache.clear();
     }
 
     private void populateCustomHeatEntries(Level world) {
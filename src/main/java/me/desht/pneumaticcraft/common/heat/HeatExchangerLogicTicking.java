@@ -19,6 +19,7 @@ package me.desht.pneumaticcraft.common.heat;
 
 import me.desht.pneumaticcraft.api.heat.HeatBehaviour;
 import me.desht.pneumaticcraft.api.heat.IHeatExchangerLogic;
+import me.desht.pneumaticcraft.common.config.ConfigHelper;
 import me.desht.pneumaticcraft.common.heat.behaviour.HeatBehaviourManager;
 import me.desht.pneumaticcraft.common.network.GuiSynced;
 import net.minecraft.core.BlockPos;
@@ -30,11 +31,17 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.LevelAccessor;
+import net.minecraftforge.server.ServerLifecycleHooks;
 
 import java.util.*;
 import java.util.function.BiPredicate;
 
 public class HeatExchangerLogicTicking implements IHeatExchangerLogic {
+    // temperature difference (in K) below which two exchangers are considered to be in equilibrium
+    private static final double EQUILIBRIUM_DELTA = 0.05;
+    // number of consecutive ticks at equilibrium before ticking is suspended
+    private static final int TICKS_BEFORE_PARKING = 20;
+
     private final Set<IHeatExchangerLogic> hullExchangers = Collections.newSetFromMap(new IdentityHashMap<>());
     private final Set<IHeatExchangerLogic> connectedExchangers = Collections.newSetFromMap(new IdentityHashMap<>());
     private List<HeatBehaviour> behaviours = new ArrayList<>();
@@ -46,6 +53,18 @@ public class HeatExchangerLogicTicking implements IHeatExchangerLogic {
     private double thermalResistance = 1;
     private double thermalCapacity = 1;
     private final BitSet connections = new BitSet(6);
+    // this exchanger plus all connected ticking exchangers; used as a divider so the total heat dispersal is constant
+    private int tickingExchangerCount = 1;
+
+    // only used when heat networks are enabled in config
+    private HeatNetwork network;
+    private int networkIndex;
+    private long lastTickedAt = Long.MIN_VALUE;
+    private boolean extraTick;  // see tickExtra()
+
+    // equilibrium tracking: a parked exchanger skips its behaviours and heat exchange until woken
+    private boolean parked;
+    private int equilibriumTicks;
 
     @Override
     public void initializeAsHull(Level world, BlockPos pos, BiPredicate<LevelAccessor,BlockPos> blockFilter, Direction... validSides) {
@@ -55,10 +74,7 @@ public class HeatExchangerLogicTicking implements IHeatExchangerLogic {
 
         if (world.isClientSide) return;
 
-        for (IHeatExchangerLogic logic : hullExchangers) {
-            removeConnectedExchanger(logic);
-        }
-        hullExchangers.clear();
+        Set<IHeatExchangerLogic> newHullExchangers = Collections.newSetFromMap(new IdentityHashMap<>());
         newBehaviours = new ArrayList<>();
         connections.clear();
         for (Direction dir : validSides) {
@@ -66,11 +82,29 @@ public class HeatExchangerLogicTicking implements IHeatExchangerLogic {
                 connections.set(dir.get3DDataValue());
             }
             HeatExchangerManager.getInstance().getLogic(world, pos.relative(dir), dir.getOpposite(), blockFilter).ifPresent(logic -> {
-                hullExchangers.add(logic);
-                addConnectedExchanger(logic);
+                newHullExchangers.add(logic);
                 connections.set(dir.get3DDataValue());
             });
         }
+
+        // only touch connections which have actually changed, so that unrelated neighbour updates don't
+        // needlessly disturb any heat network we're part of
+        for (IHeatExchangerLogic logic : hullExchangers) {
+            if (!newHullExchangers.contains(logic)) {
+                removeConnectedExchanger(logic);
+            }
+        }
+        for (IHeatExchangerLogic logic : newHullExchangers) {
+            if (!hullExchangers.contains(logic)) {
+                addConnectedExchanger(logic);
+            }
+        }
+        hullExchangers.clear();
+        hullExchangers.addAll(newHullExchangers);
+
+        if (!newBehaviours.equals(behaviours)) {
+            unpark();
+        }
     }
 
     @Override
@@ -80,7 +114,11 @@ public class HeatExchangerLogicTicking implements IHeatExchangerLogic {
 
     @Override
     public void addConnectedExchanger(IHeatExchangerLogic exchanger, boolean reciprocate) {
-        connectedExchangers.add(exchanger);
+        if (connectedExchangers.add(exchanger)) {
+            if (exchanger instanceof HeatExchangerLogicTicking) tickingExchangerCount++;
+            invalidateNetwork();
+            unpark();
+        }
         if (reciprocate) {
             exchanger.addConnectedExchanger(this, false);
         }
@@ -88,7 +126,11 @@ public class HeatExchangerLogicTicking implements IHeatExchangerLogic {
 
     @Override
     public void removeConnectedExchanger(IHeatExchangerLogic exchanger, boolean reciprocate) {
-        connectedExchangers.remove(exchanger);
+        if (connectedExchangers.remove(exchanger)) {
+            if (exchanger instanceof HeatExchangerLogicTicking) tickingExchangerCount--;
+            invalidateNetwork();
+            unpark();
+        }
         if (reciprocate) {
             exchanger.removeConnectedExchanger(this, false);
         }
@@ -97,6 +139,7 @@ public class HeatExchangerLogicTicking implements IHeatExchangerLogic {
     @Override
     public void initializeAmbientTemperature(Level world, BlockPos pos) {
         ambientTemperature = HeatExchangerLogicAmbient.atPosition(world, pos).getAmbientTemperature();
+        unpark();
     }
 
     @Override
@@ -111,10 +154,14 @@ public class HeatExchangerLogicTicking implements IHeatExchangerLogic {
     public void setTemperature(double temperature) {
         this.temperature = temperature;
         this.temperatureInt = (int) temperature;
+        if (parked && Math.abs(temperature - ambientTemperature) >= EQUILIBRIUM_DELTA) {
+            unpark();
+        }
     }
 
     @Override
     public void setThermalResistance(double thermalResistance) {
+        if (thermalResistance != this.thermalResistance) unpark();
         this.thermalResistance = thermalResistance;
     }
 
@@ -125,6 +172,7 @@ public class HeatExchangerLogicTicking implements IHeatExchangerLogic {
 
     @Override
     public void setThermalCapacity(double capacity) {
+        if (capacity != thermalCapacity) unpark();
         thermalCapacity = capacity;
     }
 
@@ -151,6 +199,7 @@ public class HeatExchangerLogicTicking implements IHeatExchangerLogic {
     public void deserializeNBT(CompoundTag nbt) {
         temperature = nbt.getDouble("temperature");
         temperatureInt = (int) temperature;
+        unpark();
         behaviours.clear();
         ListTag tagList = nbt.getList("behaviours", Tag.TAG_COMPOUND);
         for (int i = 0; i < tagList.size(); i++) {
@@ -163,10 +212,27 @@ public class HeatExchangerLogicTicking implements IHeatExchangerLogic {
         }
     }
 
+    /**
+     * Tick this exchanger an extra time in the current tick, e.g. for a Heat Sink which is being fanned by an Air
+     * Grate. Heat behaviours tick again, and heat is exchanged with every connection again. Unlike calling
+     * {@link #tick()} twice, this also works when the exchanger is part of a heat network, which only steps once per
+     * tick.
+     */
+    public void tickExtra() {
+        extraTick = true;
+        tick();
+        extraTick = false;
+    }
+
     @Override
     public void tick() {
         temperatureInt = (int) temperature;
 
+        if (parked) {
+            // at equilibrium with everything around us; nothing to do until woken
+            return;
+        }
+
         if (getThermalCapacity() < 0.1D) {
             setTemperature(ambientTemperature);
             return;
@@ -176,10 +242,16 @@ public class HeatExchangerLogicTicking implements IHeatExchangerLogic {
             behaviours = newBehaviours;
             newBehaviours = null;
             // Transfer over equal heat behaviour's info.
-            for (HeatBehaviour oldBehaviour : oldBehaviours) {
-                int equalBehaviourIndex = behaviours.indexOf(oldBehaviour);
-                if (equalBehaviourIndex >= 0) {
-                    behaviours.get(equalBehaviourIndex).deserializeNBT(oldBehaviour.serializeNBT());
+            if (!oldBehaviours.isEmpty() && !behaviours.isEmpty()) {
+                Map<HeatBehaviour, HeatBehaviour> newByKey = new HashMap<>();
+                for (HeatBehaviour behaviour : behaviours) {
+                    newByKey.putIfAbsent(behaviour, behaviour);
+                }
+                for (HeatBehaviour oldBehaviour : oldBehaviours) {
+                    HeatBehaviour equalBehaviour = newByKey.get(oldBehaviour);
+                    if (equalBehaviour != null) {
+                        equalBehaviour.transferStateFrom(oldBehaviour);
+                    }
                 }
             }
         }
@@ -195,10 +267,96 @@ public class HeatExchangerLogicTicking implements IHeatExchangerLogic {
                 }
             }
         }
+        if (ConfigHelper.common().heat.heatNetworks.get()) {
+            if (network == null || !network.isValid()) {
+                HeatNetwork.build(this);
+            }
+            if (extraTick) {
+                // the network only steps once per tick, so just exchange this member's connections again
+                network.exchangeExtra(networkIndex);
+            } else {
+                long now = ServerLifecycleHooks.getCurrentServer().getTickCount();
+                lastTickedAt = now;
+                network.step(now);
+            }
+        } else {
+            invalidateNetwork();
+            for (IHeatExchangerLogic logic : connectedExchangers) {
+                // Counting the connected ticking heat exchangers here is important, since they will all tick;
+                // this count acts as a divider so the total heat dispersal is constant
+                exchange(logic, this, tickingExchangerCount);
+            }
+        }
+
+        if (isAtEquilibrium()) {
+            if (++equilibriumTicks >= TICKS_BEFORE_PARKING) {
+                parked = true;
+            }
+        } else {
+            equilibriumTicks = 0;
+        }
+    }
+
+    /**
+     * Check if this exchanger is at ambient temperature, and every connected exchanger is at our temperature, so no
+     * heat would be exchanged in either direction.
+     *
+     * @return true if in thermal equilibrium
+     */
+    private boolean isAtEquilibrium() {
+        if (newBehaviours != null || Math.abs(temperature - ambientTemperature) >= EQUILIBRIUM_DELTA) {
+            return false;
+        }
         for (IHeatExchangerLogic logic : connectedExchangers) {
-            // Counting the connected ticking heat exchangers here is important, since they will all tick;
-            // this count acts as a divider so the total heat dispersal is constant
-            exchange(logic, this, getTickingHeatExchangers());
+            if (Math.abs(logic.getTemperature() - temperature) >= EQUILIBRIUM_DELTA) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void unpark() {
+        parked = false;
+        equilibriumTicks = 0;
+    }
+
+    Set<IHeatExchangerLogic> getConnectedExchangers() {
+        return connectedExchangers;
+    }
+
+    int getTickingExchangerCount() {
+        return tickingExchangerCount;
+    }
+
+    void joinNetwork(HeatNetwork newNetwork, int index) {
+        if (network != null && network != newNetwork) {
+            network.invalidate();
+        }
+        network = newNetwork;
+        networkIndex = index;
+    }
+
+    void leaveNetwork(HeatNetwork oldNetwork) {
+        if (network == oldNetwork) {
+            network = null;
+        }
+    }
+
+    boolean isInNetwork(HeatNetwork net) {
+        return network == net;
+    }
+
+    int getNetworkIndex() {
+        return networkIndex;
+    }
+
+    boolean hasTickedSince(long tick) {
+        return lastTickedAt >= tick;
+    }
+
+    private void invalidateNetwork() {
+        if (network != null) {
+            network.invalidate();
         }
     }
 
@@ -211,31 +369,34 @@ public class HeatExchangerLogicTicking implements IHeatExchangerLogic {
         exchange(logic, logic2, 1);
     }
 
-    private static void exchange(IHeatExchangerLogic logic, IHeatExchangerLogic logic2, double dispersionDivider) {
+    static void exchange(IHeatExchangerLogic logic, IHeatExchangerLogic logic2, double dispersionDivider) {
         if (logic.getThermalCapacity() < 0.1D) {
             logic.setTemperature(logic.getAmbientTemperature());
             return;
         }
-        double deltaTemp = logic.getTemperature() - logic2.getTemperature();
+        double deltaTemp = calcHeatFlow(logic.getTemperature(), logic.getThermalCapacity(), logic.getThermalResistance(),
+                logic2.getTemperature(), logic2.getThermalCapacity(), logic2.getThermalResistance(), dispersionDivider);
+        logic2.addHeat(deltaTemp);
+        logic.addHeat(-deltaTemp);
+    }
+
+    /**
+     * Calculate the heat which flows from one heat exchanger to another in a single exchange.
+     *
+     * @return the heat to add to the second exchanger (and remove from the first)
+     */
+    static double calcHeatFlow(double temp1, double capacity1, double resistance1, double temp2, double capacity2, double resistance2, double dispersionDivider) {
+        double deltaTemp = temp1 - temp2;
 
-        double totalResistance = logic2.getThermalResistance() + logic.getThermalResistance();
+        double totalResistance = resistance2 + resistance1;
         deltaTemp /= dispersionDivider;
         deltaTemp /= totalResistance;
 
         // Calculate the heat needed to exactly equalize the heat.
-        double maxDeltaTemp = (logic.getTemperature() * logic.getThermalCapacity() - logic2.getTemperature() * logic2.getThermalCapacity()) / 2;
+        double maxDeltaTemp = (temp1 * capacity1 - temp2 * capacity2) / 2;
         if (maxDeltaTemp >= 0 && deltaTemp > maxDeltaTemp || maxDeltaTemp <= 0 && deltaTemp < maxDeltaTemp)
             deltaTemp = maxDeltaTemp;
-        logic2.addHeat(deltaTemp);
-        logic.addHeat(-deltaTemp);
-    }
-
-    private int getTickingHeatExchangers() {
-        int tickingHeatExchangers = 1;
-        for (IHeatExchangerLogic logic : connectedExchangers) {
-            if (logic instanceof HeatExchangerLogicTicking) tickingHeatExchangers++;
-        }
-        return tickingHeatExchangers;
+        return deltaTemp;
     }
 
     @Override
@@ -0,0 +1,208 @@
+/*
+ * This file is part of pnc-repressurized.
+ *
+ *     pnc-repressurized is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     pnc-repressurized is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with pnc-repressurized.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.desht.pneumaticcraft.common.heat;
+
+import me.desht.pneumaticcraft.api.heat.IHeatExchangerLogic;
+import net.minecraft.util.Mth;
+
+import java.util.*;
+
+/**
+ * A group of connected ticking heat exchangers, whose heat exchange is simulated in one batched pass per tick. Only
+ * used when heat networks are enabled in config.
+ * <p>
+ * State is held in structure-of-arrays form, gathered from the members at the start of each step and written back
+ * at the end. Connections are stored in compressed sparse row form: the connections of member {@code i} are at
+ * indices {@code edgeStart[i]} (inclusive) to {@code edgeStart[i + 1]} (exclusive) of {@code edgeTarget}. Each member's
+ * connections are exchanged in exactly the same way (and with the same dispersion divider) as
+ * {@link HeatExchangerLogicTicking#tick()} would do, so the results are unchanged; only the per-exchanger overhead
+ * goes away.
+ * <p>
+ * Networks are built lazily by the first member to tick, and discarded as a whole whenever any member's
+ * connections change.
+ */
+class HeatNetwork {
+    private final HeatExchangerLogicTicking[] members;
+    private final double[] temperature;
+    private final double[] capacity;
+    private final double[] resistance;
+    private final double[] ambient;
+    private final double[] divider;
+    private final int[] edgeStart;
+    private final int[] edgeTarget;  // index of the member at the other end, or -1 for a non-member exchanger
+    private final IHeatExchangerLogic[] externalTarget;  // only non-null where edgeTarget is -1
+    private long lastStepTick = Long.MIN_VALUE;
+    private boolean valid = true;
+
+    private HeatNetwork(List<HeatExchangerLogicTicking> memberList) {
+        int n = memberList.size();
+        members = memberList.toArray(new HeatExchangerLogicTicking[0]);
+        temperature = new double[n];
+        capacity = new double[n];
+        resistance = new double[n];
+        ambient = new double[n];
+        divider = new double[n];
+        edgeStart = new int[n + 1];
+
+        int nEdges = 0;
+        for (int i = 0; i < n; i++) {
+            members[i].joinNetwork(this, i);
+            nEdges += members[i].getConnectedExchangers().size();
+        }
+        edgeTarget = new int[nEdges];
+        externalTarget = new IHeatExchangerLogic[nEdges];
+
+        int e = 0;
+        for (int i = 0; i < n; i++) {
+            edgeStart[i] = e;
+            divider[i] = members[i].getTickingExchangerCount();
+            for (IHeatExchangerLogic logic : members[i].getConnectedExchangers()) {
+                if (logic instanceof HeatExchangerLogicTicking ticking && ticking.isInNetwork(this)) {
+                    edgeTarget[e] = ticking.getNetworkIndex();
+                } else {
+                    edgeTarget[e] = -1;
+                    externalTarget[e] = logic;
+                }
+                e++;
+            }
+        }
+        edgeStart[n] = e;
+    }
+
+    /**
+     * Build a new network by flood-filling outwards from the given heat exchanger.
+     *
+     * @param start the heat exchanger to start from
+     * @return the new network, which has already been assigned to all of its members
+     */
+    static HeatNetwork build(HeatExchangerLogicTicking start) {
+        List<HeatExchangerLogicTicking> memberList = new ArrayList<>();
+        Set<HeatExchangerLogicTicking> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<HeatExchangerLogicTicking> queue = new ArrayDeque<>();
+        queue.add(start);
+        visited.add(start);
+        while (!queue.isEmpty()) {
+            HeatExchangerLogicTicking logic = queue.poll();
+            memberList.add(logic);
+            for (IHeatExchangerLogic neighbour : logic.getConnectedExchangers()) {
+                if (neighbour instanceof HeatExchangerLogicTicking ticking && visited.add(ticking)) {
+                    queue.add(ticking);
+                }
+            }
+        }
+        return new HeatNetwork(memberList);
+    }
+
+    boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Discard this network; all members will be rebuilt into new networks when they next tick.
+     */
+    void invalidate() {
+        if (valid) {
+            valid = false;
+            for (HeatExchangerLogicTicking member : members) {
+                member.leaveNetwork(this);
+            }
+        }
+    }
+
+    /**
+     * Run one step of heat exchange for the whole network. Only the first call in any given tick has any effect.
+     * Members which have not ticked recently (e.g. because their chunk is unloaded) don't exchange heat with their
+     * connections, just as they wouldn't if they were ticking by themselves.
+     *
+     * @param tick the current server tick
+     */
+    void step(long tick) {
+        if (!valid || tick == lastStepTick) return;
+        lastStepTick = tick;
+
+        int n = members.length;
+        for (int i = 0; i < n; i++) {
+            HeatExchangerLogicTicking member = members[i];
+            temperature[i] = member.getTemperature();
+            capacity[i] = member.getThermalCapacity();
+            resistance[i] = member.getThermalResistance();
+            ambient[i] = member.getAmbientTemperature();
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (capacity[i] < 0.1D || !members[i].hasTickedSince(tick - 1)) continue;
+            for (int e = edgeStart[i]; e < edgeStart[i + 1]; e++) {
+                int j = edgeTarget[e];
+                if (j >= 0) {
+                    exchangeWithMember(j, i);
+                } else {
+                    exchangeWithExternal(externalTarget[e], i);
+                }
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (temperature[i] != members[i].getTemperature()) {
+                members[i].setTemperature(temperature[i]);
+            }
+        }
+    }
+
+    /**
+     * Exchange heat between one member and all of its connections, outside of the regular step, exactly as a second
+     * {@link HeatExchangerLogicTicking#tick()} of that member would without a network. Works directly on the members,
+     * since the regular step has already written its results back (or hasn't gathered them yet).
+     *
+     * @param idx the member's index in this network
+     */
+    void exchangeExtra(int idx) {
+        if (!valid) return;
+
+        HeatExchangerLogicTicking member = members[idx];
+        for (int e = edgeStart[idx]; e < edgeStart[idx + 1]; e++) {
+            IHeatExchangerLogic other = edgeTarget[e] >= 0 ? members[edgeTarget[e]] : externalTarget[e];
+            HeatExchangerLogicTicking.exchange(other, member, divider[idx]);
+        }
+    }
+
+    private void exchangeWithMember(int from, int to) {
+        if (capacity[from] < 0.1D) {
+            temperature[from] = ambient[from];
+            return;
+        }
+        double deltaTemp = HeatExchangerLogicTicking.calcHeatFlow(temperature[from], capacity[from], resistance[from],
+                temperature[to], capacity[to], resistance[to], divider[to]);
+        addHeat(to, deltaTemp);
+        addHeat(from, -deltaTemp);
+    }
+
+    private void exchangeWithExternal(IHeatExchangerLogic from, int to) {
+        if (from.getThermalCapacity() < 0.1D) {
+            from.setTemperature(from.getAmbientTemperature());
+            return;
+        }
+        double deltaTemp = HeatExchangerLogicTicking.calcHeatFlow(from.getTemperature(), from.getThermalCapacity(), from.getThermalResistance(),
+                temperature[to], capacity[to], resistance[to], divider[to]);
+        addHeat(to, deltaTemp);
+        from.addHeat(-deltaTemp);
+    }
+
+    private void addHeat(int idx, double amount) {
+        temperature[idx] = Mth.clamp(temperature[idx] + amount / capacity[idx], 0, 2273);
+    }
+}
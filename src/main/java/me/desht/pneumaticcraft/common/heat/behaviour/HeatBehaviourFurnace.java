@@ -37,6 +37,11 @@ public class HeatBehaviourFurnace extends HeatBehaviour {
         return getBlockState().getBlock() instanceof AbstractFurnaceBlock;
     }
 
+    @Override
+    public void transferStateFrom(HeatBehaviour oldBehaviour) {
+        // no state beyond position, which is the same for both behaviours
+    }
+
     @Override
     public void tick() {
         if (!(getCachedTileEntity() instanceof AbstractFurnaceBlockEntity furnace) || furnace.isRemoved()) {
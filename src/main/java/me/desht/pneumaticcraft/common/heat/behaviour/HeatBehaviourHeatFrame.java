@@ -62,6 +62,11 @@ public class HeatBehaviourHeatFrame extends HeatBehaviour {
         return getHeatFrame() != null;
     }
 
+    @Override
+    public void transferStateFrom(HeatBehaviour oldBehaviour) {
+        // no state beyond position, which is the same for both behaviours
+    }
+
     @Override
     public void tick() {
         HeatExchangerLogicTicking.exchange(getHeatFrame().getHeatExchangerLogic(), getHeatExchanger());
@@ -25,4 +25,9 @@ public abstract class HeatBehaviourLiquid extends HeatBehaviour {
         if (getBlockState().getFluidState().isEmpty()) return null;
         return getBlockState().getFluidState().getType();
     }
+
+    @Override
+    public void transferStateFrom(HeatBehaviour oldBehaviour) {
+        // no state beyond position, which is the same for both behaviours
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * This file is part of pnc-repressurized.
+ *
+ *     pnc-repressurized is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     pnc-repressurized is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with pnc-repressurized.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.desht.pneumaticcraft.common.network;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import me.desht.pneumaticcraft.api.lib.Names;
+import me.desht.pneumaticcraft.common.config.ConfigHelper;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects block entity description packets over the course of a server tick, and sends them at the end of the tick
+ * as one {@link PacketDescriptionBatch} per chunk, to every player tracking that chunk. Busy bases can otherwise
+ * send hundreds of tiny packets per tick.
+ * <p>
+ * Any other packet sent to the trackers of a block position first flushes the queued packets for its chunk (see
+ * {@link NetworkHandler#sendToAllTracking(Object, Level, BlockPos)}), so that clients always receive a block
+ * entity's packets in the order they were sent, and never apply a queued description over newer state.
+ */
+@Mod.EventBusSubscriber(modid = Names.MOD_ID)
+public class DescriptionBatcher {
+    private static final int MAX_BATCH_SIZE = 64;
+
+    private static final Map<ServerLevel, Long2ObjectMap<List<PacketDescription>>> pending = new HashMap<>();
+
+    /**
+     * Send a description packet for the given block entity to all players tracking it; the packet is queued until the
+     * end of the current server tick, unless batching is disabled in config.
+     *
+     * @param te the block entity
+     * @param packet the description packet
+     */
+    public static void send(BlockEntity te, PacketDescription packet) {
+        if (te.getLevel() instanceof ServerLevel level && ConfigHelper.common().advanced.descSyncBatching.get()) {
+            pending.computeIfAbsent(level, k -> new Long2ObjectLinkedOpenHashMap<>())
+                    .computeIfAbsent(ChunkPos.asLong(te.getBlockPos()), k -> new ArrayList<>())
+                    .add(packet);
+        } else {
+            NetworkHandler.sendToAllTracking(packet, te);
+        }
+    }
+
+    /**
+     * Immediately send any description packets queued for the chunk containing the given position.
+     *
+     * @param world the level
+     * @param pos a block position
+     */
+    static void flush(Level world, BlockPos pos) {
+        if (!pending.isEmpty() && world instanceof ServerLevel level) {
+            Long2ObjectMap<List<PacketDescription>> chunks = pending.get(level);
+            if (chunks != null) {
+                long key = ChunkPos.asLong(pos);
+                List<PacketDescription> packets = chunks.remove(key);
+                if (packets != null) {
+                    sendBatches(level, key, packets);
+                }
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END && !pending.isEmpty()) {
+            pending.forEach((level, chunks) -> chunks.long2ObjectEntrySet().forEach(entry -> sendBatches(level, entry.getLongKey(), entry.getValue())));
+            pending.clear();
+        }
+    }
+
+    private static void sendBatches(ServerLevel level, long chunkKey, List<PacketDescription> packets) {
+        ChunkPos chunkPos = new ChunkPos(chunkKey);
+        LevelChunk chunk = level.getChunkSource().getChunkNow(chunkPos.x, chunkPos.z);
+        if (chunk != null) {
+            for (int start = 0; start < packets.size(); start += MAX_BATCH_SIZE) {
+                List<PacketDescription> batch = packets.subList(start, Math.min(start + MAX_BATCH_SIZE, packets.size()));
+                NetworkHandler.sendToAllTracking(new PacketDescriptionBatch(chunkPos, batch), chunk);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        pending.clear();
+    }
+}
@@ -34,4 +34,12 @@ public interface IDescSynced {
     void onDescUpdate();
 
     boolean shouldSyncField(int idx);
+
+    /**
+     * Mark a description field as changed, so that it's checked, and synced if necessary, on the next server tick.
+     * This must be called whenever a {@link PushSynced} field changes, since such fields are never polled.
+     *
+     * @param idx index of the field in {@link #getDescriptionFields()}
+     */
+    void markFieldDirty(int idx);
 }
@@ -42,6 +42,7 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
 import net.minecraftforge.network.NetworkDirection;
 import net.minecraftforge.network.NetworkEvent;
 import net.minecraftforge.network.NetworkRegistry;
@@ -63,7 +64,7 @@ import static net.minecraftforge.network.NetworkDirection.PLAY_TO_CLIENT;
 import static net.minecraftforge.network.NetworkDirection.PLAY_TO_SERVER;
 
 public class NetworkHandler {
-    private static final String PROTOCOL_VERSION = "9";
+    private static final String PROTOCOL_VERSION = "10";
     private static final SimpleChannel NETWORK = NetworkRegistry.ChannelBuilder
             .named(RL("main_channel"))
             .clientAcceptedVersions(PROTOCOL_VERSION::equals)
@@ -85,6 +86,8 @@ public class NetworkHandler {
 				PacketUpdateGPSAreaTool::toBytes, PacketUpdateGPSAreaTool::new, PacketUpdateGPSAreaTool::handle, PLAY_TO_SERVER);
 		registerMessage(PacketDescription.class,
 				PacketDescription::toBytes, PacketDescription::new, PacketDescription::process, PLAY_TO_CLIENT);
+		registerMessage(PacketDescriptionBatch.class,
+				PacketDescriptionBatch::toBytes, PacketDescriptionBatch::new, PacketDescriptionBatch::process, PLAY_TO_CLIENT);
 		registerMessage(PacketDescriptionPacketRequest.class,
 				PacketDescriptionPacketRequest::toBytes, PacketDescriptionPacketRequest::new, PacketDescriptionPacketRequest::handle, PLAY_TO_SERVER);
 		registerMessage(PacketGuiButton.class,
@@ -234,9 +237,17 @@ public class NetworkHandler {
 	}
 
 	public static void sendToAllTracking(Object message, Level world, BlockPos pos) {
+		if (!(message instanceof PacketDescription)) {
+			// any description packets still queued for this chunk must reach clients before this packet does
+			DescriptionBatcher.flush(world, pos);
+		}
 		sendMessage(message, msg -> NETWORK.send(PacketDistributor.TRACKING_CHUNK.with(() -> world.getChunkAt(pos)), msg));
 	}
 
+	public static void sendToAllTracking(Object message, LevelChunk chunk) {
+		sendMessage(message, msg -> NETWORK.send(PacketDistributor.TRACKING_CHUNK.with(() -> chunk), msg));
+	}
+
 	public static void sendToAllTracking(Object message, BlockEntity te) {
     	if (te.getLevel() != null) {
     		sendToAllTracking(message, te.getLevel(), te.getBlockPos());
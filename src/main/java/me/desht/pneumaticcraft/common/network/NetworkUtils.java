@@ -28,8 +28,13 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class NetworkUtils {
+    // per-class schema of annotated fields, so that each class hierarchy is only scanned once per annotation type
+    private static final Map<Class<? extends Annotation>, ClassValue<List<AnnotatedField>>> SCHEMAS = new ConcurrentHashMap<>();
+
     /**
      * Get a list of all the synced fields for a syncable object
      *
@@ -39,14 +44,10 @@ public class NetworkUtils {
      */
     public static List<SyncedField<?>> getSyncedFields(Object syncable, Class<? extends Annotation> searchedAnnotation) {
         List<SyncedField<?>> syncedFields = new ArrayList<>();
-        Class<?> examinedClass = syncable.getClass();
-        while (examinedClass != null) {
-            for (Field field : examinedClass.getDeclaredFields()) {
-                if (field.getAnnotation(searchedAnnotation) != null) {
-                    syncedFields.addAll(getSyncedFieldsForField(field, syncable, searchedAnnotation));
-                }
-            }
-            examinedClass = examinedClass.getSuperclass();
+        for (AnnotatedField annotatedField : getSchema(syncable.getClass(), searchedAnnotation)) {
+            List<SyncedField<?>> fields = getSyncedFieldsForField(annotatedField, syncable, searchedAnnotation);
+            if (annotatedField.pushed()) fields.forEach(field -> field.setPushed(true));
+            syncedFields.addAll(fields);
         }
         // record how the field was found - later on, SyncedField methods can use this information
         // e.g. GuiSynced data can be sent much more often than DescSynced data
@@ -54,8 +55,29 @@ public class NetworkUtils {
         return syncedFields;
     }
 
-    private static List<SyncedField<?>> getSyncedFieldsForField(Field field, Object te, Class<? extends Annotation> searchedAnnotation) {
-        boolean isLazy = field.getAnnotation(LazySynced.class) != null;
+    private static List<AnnotatedField> getSchema(Class<?> syncableClass, Class<? extends Annotation> searchedAnnotation) {
+        return SCHEMAS.computeIfAbsent(searchedAnnotation, annotation -> new ClassValue<>() {
+            @Override
+            protected List<AnnotatedField> computeValue(Class<?> type) {
+                List<AnnotatedField> fields = new ArrayList<>();
+                for (Class<?> examinedClass = type; examinedClass != null; examinedClass = examinedClass.getSuperclass()) {
+                    for (Field field : examinedClass.getDeclaredFields()) {
+                        if (field.getAnnotation(annotation) != null) {
+                            field.setAccessible(true);
+                            FilteredSynced filtered = field.getAnnotation(FilteredSynced.class);
+                            fields.add(new AnnotatedField(field, field.getAnnotation(LazySynced.class) != null,
+                                    field.getAnnotation(PushSynced.class) != null, filtered != null ? filtered.index() : -1));
+                        }
+                    }
+                }
+                return List.copyOf(fields);
+            }
+        }).get(syncableClass);
+    }
+
+    private static List<SyncedField<?>> getSyncedFieldsForField(AnnotatedField annotatedField, Object te, Class<? extends Annotation> searchedAnnotation) {
+        Field field = annotatedField.field();
+        boolean isLazy = annotatedField.lazy();
         List<SyncedField<?>> syncedFields = new ArrayList<>();
         SyncedField<?> syncedField = getSyncedFieldForField(field, te);
         if (syncedField != null) {
@@ -63,8 +85,7 @@ public class NetworkUtils {
         } else {
             Object o;
             try {
-                int filteredIndex = field.getAnnotation(FilteredSynced.class) != null ? field.getAnnotation(FilteredSynced.class).index() : -1;
-                field.setAccessible(true);
+                int filteredIndex = annotatedField.filteredIndex();
                 o = field.get(te);
                 if (o instanceof int[] array) {
                     if (filteredIndex >= 0) {
@@ -185,4 +206,7 @@ public class NetworkUtils {
         if (IItemHandlerModifiable.class.isAssignableFrom(field.getType())) return new SyncedItemHandler(te, field);
         return null;
     }
+
+    private record AnnotatedField(Field field, boolean lazy, boolean pushed, int filteredIndex) {
+    }
 }
@@ -20,6 +20,7 @@ package me.desht.pneumaticcraft.common.network;
 import io.netty.buffer.Unpooled;
 import me.desht.pneumaticcraft.api.lib.Names;
 import me.desht.pneumaticcraft.client.util.ClientUtils;
+import me.desht.pneumaticcraft.common.config.ConfigHelper;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
@@ -36,9 +37,14 @@ import java.util.function.Supplier;
 /**
  * Sent to: CLIENT
  *
- * This is the primary mechanism for syncing block entity data to clients when it changes.
+ * This is the primary mechanism for syncing block entity data to clients when it changes.  Usually sent as part of a
+ * {@link PacketDescriptionBatch}, rather than on its own.
  */
 public class PacketDescription extends LocationIntPacket {
+    // float fields may be sent as fixed-point varlongs instead, if precision is limited in config
+    private static final byte TYPE_QUANTISED_FLOAT = -1;
+    private static final double MAX_QUANTISED = 1e15;
+
     private final boolean fullSync;
     private final List<IndexedField> fields = new ArrayList<>();
     private final CompoundTag extraData;
@@ -58,14 +64,26 @@ public class PacketDescription extends LocationIntPacket {
     }
 
     public PacketDescription(FriendlyByteBuf buf) {
-        super(buf);
+        this(buf.readBlockPos(), buf);
+    }
+
+    PacketDescription(BlockPos pos, FriendlyByteBuf buf) {
+        super(pos);
 
         fullSync = buf.readBoolean();
+        int precision = buf.readByte();
+        double scale = precision >= 0 ? Math.pow(10, precision) : 1;
         int fieldCount = buf.readVarInt();
+        int idx = -1;
         for (int i = 0; i < fieldCount; i++) {
-            int idx = fullSync ? i : buf.readVarInt();
+            // field indices are sent as the gap from the previous index, which nearly always fits in one byte
+            idx = fullSync ? i : idx + 1 + buf.readVarInt();
             byte type = buf.readByte();
-            fields.add(new IndexedField(idx, type, SyncedField.fromBytes(buf, type)));
+            if (type == TYPE_QUANTISED_FLOAT) {
+                fields.add(new IndexedField(idx, (byte) 1, (float) (zigZagDecode(buf.readVarLong()) / scale)));
+            } else {
+                fields.add(new IndexedField(idx, type, SyncedField.fromBytes(buf, type)));
+            }
         }
         extraData = buf.readNbt();
     }
@@ -74,16 +92,48 @@ public class PacketDescription extends LocationIntPacket {
     public void toBytes(FriendlyByteBuf buf) {
         super.toBytes(buf);
 
+        writeBody(buf);
+    }
+
+    /**
+     * Write everything except the position, which is encoded by the caller.
+     *
+     * @param buf the buffer
+     */
+    void writeBody(FriendlyByteBuf buf) {
+        int precision = ConfigHelper.common().advanced.descSyncFloatPrecision.get();
+        double scale = precision >= 0 ? Math.pow(10, precision) : 1;
+
         buf.writeBoolean(fullSync);
+        buf.writeByte(precision);
         buf.writeVarInt(fields.size());
+        int prevIdx = -1;
         for (IndexedField indexedField : fields) {
-            if (!fullSync) buf.writeVarInt(indexedField.idx);
-            buf.writeByte(indexedField.type);
-            SyncedField.toBytes(buf, indexedField.value, indexedField.type);
+            if (!fullSync) buf.writeVarInt(indexedField.idx - prevIdx - 1);
+            prevIdx = indexedField.idx;
+            if (precision >= 0 && indexedField.type == 1 && Math.abs((Float) indexedField.value * scale) < MAX_QUANTISED) {
+                buf.writeByte(TYPE_QUANTISED_FLOAT);
+                buf.writeVarLong(zigZagEncode(Math.round((Float) indexedField.value * scale)));
+            } else {
+                buf.writeByte(indexedField.type);
+                SyncedField.toBytes(buf, indexedField.value, indexedField.type);
+            }
         }
         buf.writeNbt(extraData);
     }
 
+    BlockPos getPos() {
+        return pos;
+    }
+
+    static long zigZagEncode(long n) {
+        return (n << 1) ^ (n >> 63);
+    }
+
+    static long zigZagDecode(long n) {
+        return (n >>> 1) ^ -(n & 1);
+    }
+
     public void process(Supplier<NetworkEvent.Context> ctx) {
         ctx.get().enqueueWork(() -> processPacket(null));
         ctx.get().setPacketHandled(true);
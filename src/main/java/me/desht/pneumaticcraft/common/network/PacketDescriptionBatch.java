@@ -0,0 +1,74 @@
+/*
+ * This file is part of pnc-repressurized.
+ *
+ *     pnc-repressurized is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     pnc-repressurized is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with pnc-repressurized.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.desht.pneumaticcraft.common.network;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Sent to: CLIENT
+ *
+ * All the block entity description updates for one chunk which were queued during a server tick; see
+ * {@link DescriptionBatcher}. Positions are encoded relative to the chunk origin.
+ */
+public class PacketDescriptionBatch {
+    private final ChunkPos chunkPos;
+    private final List<PacketDescription> descriptions;
+
+    public PacketDescriptionBatch(ChunkPos chunkPos, List<PacketDescription> descriptions) {
+        this.chunkPos = chunkPos;
+        this.descriptions = descriptions;
+    }
+
+    public PacketDescriptionBatch(FriendlyByteBuf buf) {
+        chunkPos = buf.readChunkPos();
+        int count = buf.readVarInt();
+        descriptions = new ArrayList<>(count);
+        int y = 0;
+        for (int i = 0; i < count; i++) {
+            int xz = buf.readUnsignedByte();
+            y += (int) PacketDescription.zigZagDecode(buf.readVarLong());
+            BlockPos pos = new BlockPos(chunkPos.getMinBlockX() + (xz >> 4), y, chunkPos.getMinBlockZ() + (xz & 0xF));
+            descriptions.add(new PacketDescription(pos, buf));
+        }
+    }
+
+    public void toBytes(FriendlyByteBuf buf) {
+        buf.writeChunkPos(chunkPos);
+        buf.writeVarInt(descriptions.size());
+        int y = 0;
+        for (PacketDescription description : descriptions) {
+            BlockPos pos = description.getPos();
+            buf.writeByte((pos.getX() & 0xF) << 4 | (pos.getZ() & 0xF));
+            buf.writeVarLong(PacketDescription.zigZagEncode(pos.getY() - y));
+            y = pos.getY();
+            description.writeBody(buf);
+        }
+    }
+
+    public void process(Supplier<NetworkEvent.Context> ctx) {
+        ctx.get().enqueueWork(() -> descriptions.forEach(description -> description.processPacket(null)));
+        ctx.get().setPacketHandled(true);
+    }
+}
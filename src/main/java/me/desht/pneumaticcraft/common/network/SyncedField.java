@@ -25,20 +25,42 @@ import net.minecraftforge.items.IItemHandlerModifiable;
 import net.minecraftforge.items.ItemStackHandler;
 import org.apache.commons.lang3.ArrayUtils;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class SyncedField<T> {
+    // getters are shared by all synced fields for the same Field, and are typed (Object)T for primitive fields,
+    // or (Object)Object for all other fields, so primitive values can be read without boxing
+    private static final Map<Field, MethodHandle> GETTERS = new ConcurrentHashMap<>();
+
     private final Field field;
-    private final Object te;
+    final MethodHandle getter;
+    final Object te;
     private T lastValue;
-    private int arrayIndex = -1;
-    private boolean isLazy;
+    int arrayIndex = -1;
+    boolean isLazy;
+    private boolean isPushed;
     private Class<?> annotation;
 
     SyncedField(Object te, Field field) {
         this.field = field;
         field.setAccessible(true);
         this.te = te;
+        this.getter = GETTERS.computeIfAbsent(field, SyncedField::makeGetter);
+    }
+
+    private static MethodHandle makeGetter(Field field) {
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflectGetter(field);
+            Class<?> type = field.getType().isPrimitive() ? field.getType() : Object.class;
+            return handle.asType(MethodType.methodType(type, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("can't access synced field " + field, e);
+        }
     }
 
     SyncedField<T> setArrayIndex(int arrayIndex) {
@@ -51,6 +73,22 @@ public abstract class SyncedField<T> {
         return this;
     }
 
+    SyncedField<T> setPushed(boolean pushed) {
+        this.isPushed = pushed;
+        return this;
+    }
+
+    /**
+     * @return true if this field is only checked for changes when explicitly marked dirty; see {@link PushSynced}
+     */
+    public boolean isPushed() {
+        return isPushed;
+    }
+
+    public String getFieldName() {
+        return field.getName();
+    }
+
     @Override
     public String toString() {
         return arrayIndex == -1 ?
@@ -66,18 +104,29 @@ public abstract class SyncedField<T> {
      */
     public boolean update() {
         try {
-            T value = arrayIndex >= 0 ? getValueForArray(field.get(te), arrayIndex) : retrieveValue(field, te);
+            T value = arrayIndex >= 0 ? getValueForArray(getFieldValue(), arrayIndex) : retrieveValue(field, te);
             if (lastValue == null && value != null || lastValue != null && !equals(lastValue, value)) {
                 lastValue = value == null ? null : copyWhenNecessary(value);
                 return !isLazy;
             }
         } catch (Throwable e) {
-            Log.error("A problem occurred when trying to sync the field of " + te.toString() + ". Field: " + field.toString());
-            e.printStackTrace();
+            logSyncError(e);
         }
         return false;
     }
 
+    /**
+     * Get the current value of a non-primitive field (including array fields) from the syncable object.
+     */
+    final Object getFieldValue() throws Throwable {
+        return (Object) getter.invokeExact(te);
+    }
+
+    final void logSyncError(Throwable e) {
+        Log.error("A problem occurred when trying to sync the field of " + te.toString() + ". Field: " + field.toString());
+        e.printStackTrace();
+    }
+
     protected boolean equals(T oldValue, T newValue) {
         return oldValue.equals(newValue);
     }
@@ -86,9 +135,9 @@ public abstract class SyncedField<T> {
         return oldValue;
     }
 
-    protected T retrieveValue(Field field, Object te) throws Exception {
+    protected T retrieveValue(Field field, Object te) throws Throwable {
         //noinspection unchecked
-        return (T) field.get(te);
+        return (T) getFieldValue();
     }
 
     protected void injectValue(Field field, Object te, T value) throws Exception {
@@ -130,11 +179,33 @@ public abstract class SyncedField<T> {
     }
 
     public static class SyncedInt extends SyncedField<Integer> {
+        private int last;
+        private boolean hasValue;
 
         public SyncedInt(Object te, Field field) {
             super(te, field);
         }
 
+        @Override
+        public boolean update() {
+            try {
+                int value = arrayIndex >= 0 ? ((int[]) getFieldValue())[arrayIndex] : (int) getter.invokeExact(te);
+                if (!hasValue || value != last) {
+                    last = value;
+                    hasValue = true;
+                    return !isLazy;
+                }
+            } catch (Throwable e) {
+                logSyncError(e);
+            }
+            return false;
+        }
+
+        @Override
+        public Integer getValue() {
+            return hasValue ? last : null;
+        }
+
         @Override
         protected Integer getValueForArray(Object array, int index) {
             return ((int[]) array)[index];
@@ -148,11 +219,34 @@ public abstract class SyncedField<T> {
     }
 
     public static class SyncedFloat extends SyncedField<Float> {
+        private float last;
+        private boolean hasValue;
 
         SyncedFloat(Object te, Field field) {
             super(te, field);
         }
 
+        @Override
+        public boolean update() {
+            try {
+                float value = arrayIndex >= 0 ? ((float[]) getFieldValue())[arrayIndex] : (float) getter.invokeExact(te);
+                // compare bits, to match Float#equals()
+                if (!hasValue || Float.floatToIntBits(value) != Float.floatToIntBits(last)) {
+                    last = value;
+                    hasValue = true;
+                    return !isLazy;
+                }
+            } catch (Throwable e) {
+                logSyncError(e);
+            }
+            return false;
+        }
+
+        @Override
+        public Float getValue() {
+            return hasValue ? last : null;
+        }
+
         @Override
         protected Float getValueForArray(Object array, int index) {
             return ((float[]) array)[index];
@@ -166,11 +260,34 @@ public abstract class SyncedField<T> {
     }
 
     public static class SyncedDouble extends SyncedField<Double> {
+        private double last;
+        private boolean hasValue;
 
         SyncedDouble(Object te, Field field) {
             super(te, field);
         }
 
+        @Override
+        public boolean update() {
+            try {
+                double value = arrayIndex >= 0 ? ((double[]) getFieldValue())[arrayIndex] : (double) getter.invokeExact(te);
+                // compare bits, to match Double#equals()
+                if (!hasValue || Double.doubleToLongBits(value) != Double.doubleToLongBits(last)) {
+                    last = value;
+                    hasValue = true;
+                    return !isLazy;
+                }
+            } catch (Throwable e) {
+                logSyncError(e);
+            }
+            return false;
+        }
+
+        @Override
+        public Double getValue() {
+            return hasValue ? last : null;
+        }
+
         @Override
         protected Double getValueForArray(Object array, int index) {
             return ((double[]) array)[index];
@@ -184,11 +301,33 @@ public abstract class SyncedField<T> {
     }
 
     public static class SyncedBoolean extends SyncedField<Boolean> {
+        private boolean last;
+        private boolean hasValue;
 
         SyncedBoolean(Object te, Field field) {
             super(te, field);
         }
 
+        @Override
+        public boolean update() {
+            try {
+                boolean value = arrayIndex >= 0 ? ((boolean[]) getFieldValue())[arrayIndex] : (boolean) getter.invokeExact(te);
+                if (!hasValue || value != last) {
+                    last = value;
+                    hasValue = true;
+                    return !isLazy;
+                }
+            } catch (Throwable e) {
+                logSyncError(e);
+            }
+            return false;
+        }
+
+        @Override
+        public Boolean getValue() {
+            return hasValue ? last : null;
+        }
+
         @Override
         protected Boolean getValueForArray(Object array, int index) {
             return ((boolean[]) array)[index];
@@ -239,10 +378,10 @@ public abstract class SyncedField<T> {
         }
 
         @Override
-        protected Byte retrieveValue(Field field, Object te) throws Exception {
-            Object[] enumTypes = field.getType().getEnumConstants();
+        protected Byte retrieveValue(Field field, Object te) throws Throwable {
+            Object value = getFieldValue();
             // this will be INDEX_NOT_FOUND if the enum field is null, which we can check for in injectValue()
-            return (byte) ArrayUtils.indexOf(enumTypes, field.get(te));
+            return value == null ? (byte) ArrayUtils.INDEX_NOT_FOUND : (byte) ((Enum<?>) value).ordinal();
         }
 
         @Override
@@ -312,8 +451,8 @@ public abstract class SyncedField<T> {
         }
 
         @Override
-        protected IItemHandlerModifiable retrieveValue(Field field, Object te) throws Exception {
-            return (IItemHandlerModifiable) field.get(te);
+        protected IItemHandlerModifiable retrieveValue(Field field, Object te) throws Throwable {
+            return (IItemHandlerModifiable) getFieldValue();
         }
 
         @Override
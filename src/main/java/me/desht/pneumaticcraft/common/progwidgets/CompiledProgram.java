@@ -0,0 +1,69 @@
+/*
+ * This file is part of pnc-repressurized.
+ *
+ *     pnc-repressurized is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     pnc-repressurized is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with pnc-repressurized.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.desht.pneumaticcraft.common.progwidgets;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.MapMaker;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runtime lookup structures for a drone program, built once per widget list rather than recomputed on every jump.
+ * Currently this resolves label names to their jump targets.
+ */
+public class CompiledProgram {
+    // keyed by list identity; program widget lists are immutable while a program is running
+    private static final Map<List<IProgWidget>, CompiledProgram> CACHE = new MapMaker().weakKeys().makeMap();
+
+    private final Map<String, List<IProgWidget>> labels;
+
+    private CompiledProgram(List<IProgWidget> widgets) {
+        Map<String, ImmutableList.Builder<IProgWidget>> builders = new HashMap<>();
+        for (IProgWidget widget : widgets) {
+            if (widget instanceof ILabel l && l.getLabel() != null) {
+                builders.computeIfAbsent(l.getLabel(), k -> ImmutableList.builder()).add(widget);
+            }
+        }
+        ImmutableMap.Builder<String, List<IProgWidget>> builder = ImmutableMap.builder();
+        builders.forEach((label, targets) -> builder.put(label, targets.build()));
+        labels = builder.build();
+    }
+
+    /**
+     * Get the compiled form of the given program, compiling it if necessary.
+     *
+     * @param widgets the program's widgets; must not be modified afterwards
+     * @return the compiled program
+     */
+    public static CompiledProgram of(List<IProgWidget> widgets) {
+        return CACHE.computeIfAbsent(widgets, CompiledProgram::new);
+    }
+
+    /**
+     * Get every label widget in the program with the given label.
+     *
+     * @param label the label
+     * @return a list of label widgets, in program order; empty if there are none
+     */
+    public List<IProgWidget> getJumpTargets(String label) {
+        return labels.getOrDefault(label, ImmutableList.of());
+    }
+}
@@ -43,8 +43,8 @@ import net.minecraft.world.item.DyeColor;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.AABB;
 
+import javax.annotation.Nullable;
 import java.util.*;
-import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -243,8 +243,16 @@ public class ProgWidgetArea extends ProgWidget implements IAreaProvider, IVariab
     }
 
     public void getArea(Set<BlockPos> area, AreaType areaType) {
+        addToSet(area, getShape(areaType), aiManager);
+    }
+
+    public AreaShape getShape() {
+        return getShape(type);
+    }
+
+    public AreaShape getShape(AreaType areaType) {
         BlockPos[] areaPoints = getAreaPoints();
-        if (areaPoints[0] == null) return;
+        if (areaPoints[0] == null) return AreaShape.EMPTY;
 
         int minX, minY, minZ;
         int maxX, maxY, maxZ;
@@ -266,35 +274,98 @@ public class ProgWidgetArea extends ProgWidget implements IAreaProvider, IVariab
         // https://github.com/TeamPneumatic/pnc-repressurized/issues/104
 
 
+        // The size of this widget's own area isn't checked here; the maximum area size only applies to the final
+        // area, once any blacklisting is done, and the cost of enumerating it is bounded by its scan volume (see
+        // addToSet()). Shapes are symbolic, so even a huge blacklist box costs nothing, and only area types which
+        // must be generated are capped (see AreaType#getShape()).
+
         BlockPos p1 = areaPoints[0];
         BlockPos p2 = areaPoints[1] != null ? areaPoints[1] : p1;
 
-        int size = ((maxX - minX) + 1) * ((maxY - minY) + 1) * ((maxZ - minZ) + 1);
-        final int maxSize = ConfigHelper.common().general.maxProgrammingArea.get();
-        if (size > maxSize) { // Prevent memory problems when getting to ridiculous areas.
-            if (aiManager != null) {
-                // We still need to do run-time checks:
-                // 1) Drones programmed before the compile-time validation was added
-                // 2) Programs using variables where we don't necessarily have the values at compile-time
-                IDroneBase drone = aiManager.getDrone();
-                Log.warning(String.format("Drone @ %s (DIM %s) was killed due to excessively large area (%d > %d). See 'maxProgrammingArea' in config.",
-                        drone.getDronePos().toString(), drone.world().dimension().location(), size, maxSize));
-                drone.overload("areaTooLarge", maxSize);
-                return;
-            }
-            // We're in the Programmer (no AI manager).  Continue to update the area,
-            // but don't let it grow without bounds.
+        return areaType.getShape(p1, p2, minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /**
+     * Compile chains of whitelist and blacklist area widgets into a single shape: the union of the whitelisted
+     * areas, minus the union of the blacklisted areas.
+     *
+     * @param whitelistWidget first widget of the whitelist chain
+     * @param blacklistWidget first widget of the blacklist chain
+     * @param areaType if non-null, use this area type for every widget instead of the widgets' own types
+     * @return the compiled shape
+     */
+    public static AreaShape getShape(@Nullable ProgWidgetArea whitelistWidget, @Nullable ProgWidgetArea blacklistWidget, @Nullable AreaType areaType) {
+        if (whitelistWidget == null) return AreaShape.EMPTY;
+        return AreaShape.difference(getChainShape(whitelistWidget, areaType), getChainShape(blacklistWidget, areaType));
+    }
+
+    /**
+     * Compile chains of whitelist and blacklist area widgets, and add the resulting positions to the given set. If
+     * the final area is larger than the maximum programming area size, and this is a drone's program, the drone is
+     * killed, as with any other over-size area.
+     *
+     * @param area the set to add to
+     * @param whitelistWidget first widget of the whitelist chain
+     * @param blacklistWidget first widget of the blacklist chain
+     * @param areaType if non-null, use this area type for every widget instead of the widgets' own types
+     */
+    public static void getArea(Set<BlockPos> area, @Nullable ProgWidgetArea whitelistWidget, @Nullable ProgWidgetArea blacklistWidget, @Nullable AreaType areaType) {
+        addToSet(area, getShape(whitelistWidget, blacklistWidget, areaType), whitelistWidget == null ? null : whitelistWidget.aiManager);
+    }
+
+    private static AreaShape getChainShape(@Nullable ProgWidgetArea widget, @Nullable AreaType areaType) {
+        List<AreaShape> shapes = new ArrayList<>();
+        while (widget != null) {
+            shapes.add(widget.getShape(areaType == null ? widget.type : areaType));
+            widget = (ProgWidgetArea) widget.getConnectedParameters()[0];
         }
-
-        Consumer<BlockPos> addFunc = p -> {
-            if (/*p.getY() >= 0 && p.getY() < 256 &&*/ area.add(p) && area.size() > maxSize) {
-                throw new AreaTooBigException();
-            }
-        };
-
+        return AreaShape.union(shapes);
+    }
+
+    /**
+     * Add the positions of a shape to the given set, stopping once the set exceeds the maximum programming area size.
+     * Shapes which would need too many positions examined to enumerate (see {@link AreaType#getMaxScanVolume()}) are
+     * refused without adding anything, however few positions they actually contain.
+     *
+     * @param area the set to add to
+     * @param shape the shape
+     * @return true if the whole shape was added, false if it is too large
+     */
+    public static boolean addToSet(Set<BlockPos> area, AreaShape shape) {
+        if (shape.getScanVolume() > AreaType.getMaxScanVolume()) {
+            return false;
+        }
+        final int maxSize = ConfigHelper.common().general.maxProgrammingArea.get();
         try {
-            areaType.addArea(addFunc, p1, p2, minX, minY, minZ, maxX, maxY, maxZ);
-        } catch (AreaTooBigException ignored) {
+            shape.forEach(p -> {
+                if (area.add(p) && area.size() > maxSize) {
+                    throw new AreaTooBigException();
+                }
+            });
+        } catch (AreaTooBigException e) {
+            return false;
+        }
+        return !shape.isTruncated();
+    }
+
+    private static void addToSet(Set<BlockPos> area, AreaShape shape, @Nullable DroneAIManager aiManager) {
+        if (addToSet(area, shape)) return;
+
+        if (aiManager != null) {
+            // We still need to do run-time checks:
+            // 1) Drones programmed before the compile-time validation was added
+            // 2) Programs using variables where we don't necessarily have the values at compile-time
+            // In the Programmer (no AI manager), the area is just left capped at the maximum size.
+            final int maxSize = ConfigHelper.common().general.maxProgrammingArea.get();
+            IDroneBase drone = aiManager.getDrone();
+            Log.warning(String.format("Drone @ %s (DIM %s) was killed due to excessively large area (> %d). See 'maxProgrammingArea' in config.",
+                    drone.getDronePos().toString(), drone.world().dimension().location(), maxSize));
+            drone.overload("areaTooLarge", maxSize);
+            area.clear();
+        }
+        if (area instanceof AreaSet areaSet) {
+            // lets the Programmer report the error, even if nothing could be added
+            areaSet.setTooLarge();
         }
     }
 
@@ -22,6 +22,7 @@ import me.desht.pneumaticcraft.api.drone.ProgWidgetType;
 import me.desht.pneumaticcraft.common.ai.DroneAIManager;
 import me.desht.pneumaticcraft.common.config.ConfigHelper;
 import me.desht.pneumaticcraft.common.core.ModProgWidgets;
+import me.desht.pneumaticcraft.common.progwidgets.area.AreaSet;
 import me.desht.pneumaticcraft.common.util.ChunkCache;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
@@ -42,8 +43,7 @@ import static me.desht.pneumaticcraft.common.util.PneumaticCraftUtils.xlate;
  */
 public abstract class ProgWidgetAreaItemBase extends ProgWidget
         implements IAreaProvider, IEntityProvider, IItemFiltering, IVariableWidget {
-    private List<BlockPos> areaListCache;
-    private Set<BlockPos> areaSetCache;
+    private AreaSet areaSetCache;
     private AABB areaExtents;
     private Map<String, BlockPos> areaVariableStates;
     protected DroneAIManager aiManager;
@@ -76,7 +76,7 @@ public abstract class ProgWidgetAreaItemBase extends ProgWidget
             curInfo.add(xlate("pneumaticcraft.gui.progWidget.area.error.noArea"));
         }
         Set<BlockPos> areaSet = getCachedAreaSet();
-        if (areaSet.size() > ConfigHelper.common().general.maxProgrammingArea.get()) {
+        if (areaSet.isTooLarge() || areaSet.size() > ConfigHelper.common().general.maxProgrammingArea.get()) {
             curInfo.add(xlate("pneumaticcraft.gui.progWidget.area.error.areaTooBig", ConfigHelper.common().general.maxProgrammingArea.get()));
         }
         EntityFilterPair.addErrors(this, curInfo);
@@ -112,33 +112,23 @@ public abstract class ProgWidgetAreaItemBase extends ProgWidget
         return new AABB(new BlockPos(minX, minY, minZ), new BlockPos(maxX, maxY, maxZ));
     }
 
-    public List<BlockPos> getCachedAreaList() {
-        if (areaListCache != null) {
+    public AreaSet getCachedAreaSet() {
+        if (areaSetCache != null) {
             if (!canCache || updateVariables()) {
-                areaSetCache = new HashSet<>(areaListCache.size());
+                areaSetCache = new AreaSet();
                 getArea(areaSetCache);
                 areaExtents = null;
-                areaListCache = new ArrayList<>(areaSetCache.size());
-                areaListCache.addAll(areaSetCache);
             }
         } else {
             areaExtents = null;
-            areaSetCache = new HashSet<>();
+            areaSetCache = new AreaSet();
             getArea(areaSetCache);
-            areaListCache = new ArrayList<>(areaSetCache.size());
-            areaListCache.addAll(areaSetCache);
             initializeVariableCache();
         }
-        return areaListCache;
-    }
-
-    public Set<BlockPos> getCachedAreaSet() {
-        getCachedAreaList();
         return areaSetCache;
     }
 
     protected synchronized void invalidateAreaCache() {
-        areaListCache = null;
         areaSetCache = null;
         areaExtents = null;
     }
@@ -195,19 +185,7 @@ public abstract class ProgWidgetAreaItemBase extends ProgWidget
     }
 
     public static void getArea(Set<BlockPos> area, ProgWidgetArea whitelistWidget, ProgWidgetArea blacklistWidget) {
-        if (whitelistWidget == null) return;
-        ProgWidgetArea widget = whitelistWidget;
-        while (widget != null) {
-            widget.getArea(area);
-            widget = (ProgWidgetArea) widget.getConnectedParameters()[0];
-        }
-        widget = blacklistWidget;
-        Set<BlockPos> blacklistedArea = new HashSet<>();
-        while (widget != null) {
-            widget.getArea(blacklistedArea);
-            widget = (ProgWidgetArea) widget.getConnectedParameters()[0];
-        }
-        area.removeAll(blacklistedArea);
+        ProgWidgetArea.getArea(area, whitelistWidget, blacklistWidget, null);
     }
 
     @Override
@@ -36,7 +36,6 @@ import net.minecraft.world.entity.ai.goal.Goal;
 import net.minecraft.world.item.DyeColor;
 import net.minecraft.world.level.Level;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -113,19 +112,7 @@ public class ProgWidgetEntityAttack extends ProgWidget implements IAreaProvider,
     }
 
     public static void getArea(Set<BlockPos> area, ProgWidgetArea whitelistWidget, ProgWidgetArea blacklistWidget) {
-        if (whitelistWidget == null) return;
-        ProgWidgetArea widget = whitelistWidget;
-        while (widget != null) {
-            widget.getArea(area, new AreaTypeBox());
-            widget = (ProgWidgetArea) widget.getConnectedParameters()[0];
-        }
-        widget = blacklistWidget;
-        while (widget != null) {
-            Set<BlockPos> blacklistedArea = new HashSet<>();
-            widget.getArea(blacklistedArea, new AreaTypeBox());
-            area.removeAll(blacklistedArea);
-            widget = (ProgWidgetArea) widget.getConnectedParameters()[0];
-        }
+        ProgWidgetArea.getArea(area, whitelistWidget, blacklistWidget, new AreaTypeBox());
     }
 
     @Override
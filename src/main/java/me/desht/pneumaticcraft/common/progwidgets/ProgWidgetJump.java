@@ -26,7 +26,6 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.DyeColor;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
@@ -82,16 +81,8 @@ public class ProgWidgetJump extends ProgWidget implements IJump {
 
     static IProgWidget jumpToLabel(IDroneBase drone, List<IProgWidget> allWidgets, String label) {
         drone.getAIManager().setLabel(label);
-        List<IProgWidget> possibleJumpLocations = new ArrayList<>();
-        for (IProgWidget widget : allWidgets) {
-            if (widget instanceof ILabel) {
-                String labelLabel = ((ILabel) widget).getLabel();
-                if (labelLabel != null && labelLabel.equals(label)) {
-                    possibleJumpLocations.add(widget);
-                }
-            }
-        }
-        if (possibleJumpLocations.size() == 0) {
+        List<IProgWidget> possibleJumpLocations = CompiledProgram.of(allWidgets).getJumpTargets(label);
+        if (possibleJumpLocations.isEmpty()) {
             drone.getDebugger().addEntry("pneumaticcraft.gui.progWidget.jump.nowhereToJump");
             return null;
         } else {
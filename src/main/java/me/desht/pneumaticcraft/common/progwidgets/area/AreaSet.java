@@ -0,0 +1,228 @@
+/*
+ * This file is part of pnc-repressurized.
+ *
+ *     pnc-repressurized is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     pnc-repressurized is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with pnc-repressurized.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.desht.pneumaticcraft.common.progwidgets.area;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * A compact set of block positions, stored as one 4096-bit bitmap per chunk section (16x16x16 blocks) which contains
+ * any positions. Dense drone areas take a small fraction of the memory that a {@code HashSet<BlockPos>} would need,
+ * and positions can be visited a section at a time, which allows callers to process an area in chunk order.
+ */
+public class AreaSet extends AbstractSet<BlockPos> {
+    private final Long2ObjectMap<Section> sections = new Long2ObjectOpenHashMap<>();
+    private int size;
+    private boolean tooLarge;
+
+    @Override
+    public boolean add(BlockPos pos) {
+        Section section = sections.computeIfAbsent(sectionKey(pos), k -> new Section());
+        if (section.set(localIndex(pos))) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o instanceof BlockPos pos) {
+            Section section = sections.get(sectionKey(pos));
+            return section != null && section.get(localIndex(pos));
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o instanceof BlockPos pos) {
+            long key = sectionKey(pos);
+            Section section = sections.get(key);
+            if (section != null && section.clear(localIndex(pos))) {
+                if (section.count == 0) sections.remove(key);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        boolean changed = false;
+        for (Object o : c) {
+            changed |= remove(o);
+        }
+        return changed;
+    }
+
+    @Override
+    public void clear() {
+        sections.clear();
+        size = 0;
+        tooLarge = false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Mark this set as an incomplete area, which was too large to be enumerated in full.
+     */
+    public void setTooLarge() {
+        tooLarge = true;
+    }
+
+    /**
+     * Check if this set is an incomplete area; see {@link #setTooLarge()}.
+     *
+     * @return true if the area this set was built from was too large
+     */
+    public boolean isTooLarge() {
+        return tooLarge;
+    }
+
+    /**
+     * Get the keys (see {@link SectionPos#asLong()}) of all chunk sections containing at least one position.
+     *
+     * @return a new list of section keys
+     */
+    public LongList getSectionKeys() {
+        return new LongArrayList(sections.keySet());
+    }
+
+    /**
+     * Pass every position of this set which lies in the given chunk section to the consumer.
+     *
+     * @param sectionKey the section key, as returned by {@link SectionPos#asLong()}
+     * @param consumer receives the positions
+     */
+    public void forEachInSection(long sectionKey, Consumer<BlockPos> consumer) {
+        Section section = sections.get(sectionKey);
+        if (section != null) {
+            section.forEach(SectionPos.sectionToBlockCoord(SectionPos.x(sectionKey)),
+                    SectionPos.sectionToBlockCoord(SectionPos.y(sectionKey)),
+                    SectionPos.sectionToBlockCoord(SectionPos.z(sectionKey)),
+                    consumer);
+        }
+    }
+
+    @Override
+    public Iterator<BlockPos> iterator() {
+        return new Iterator<>() {
+            private final ObjectIterator<Long2ObjectMap.Entry<Section>> sectionIter = Long2ObjectMaps.fastIterator(sections);
+            private Section section;
+            private int x0, y0, z0;
+            private int word;
+            private long bits;
+
+            @Override
+            public boolean hasNext() {
+                while (bits == 0) {
+                    if (section != null && ++word < Section.WORDS) {
+                        bits = section.bits[word];
+                    } else if (sectionIter.hasNext()) {
+                        Long2ObjectMap.Entry<Section> entry = sectionIter.next();
+                        long key = entry.getLongKey();
+                        section = entry.getValue();
+                        x0 = SectionPos.sectionToBlockCoord(SectionPos.x(key));
+                        y0 = SectionPos.sectionToBlockCoord(SectionPos.y(key));
+                        z0 = SectionPos.sectionToBlockCoord(SectionPos.z(key));
+                        word = 0;
+                        bits = section.bits[0];
+                    } else {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public BlockPos next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                int idx = (word << 6) | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                return Section.toPos(x0, y0, z0, idx);
+            }
+        };
+    }
+
+    private static long sectionKey(BlockPos pos) {
+        return SectionPos.asLong(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getY()), SectionPos.blockToSectionCoord(pos.getZ()));
+    }
+
+    private static int localIndex(BlockPos pos) {
+        return (pos.getY() & 15) << 8 | (pos.getZ() & 15) << 4 | (pos.getX() & 15);
+    }
+
+    private static class Section {
+        static final int WORDS = 4096 / 64;
+
+        final long[] bits = new long[WORDS];
+        int count;
+
+        boolean get(int idx) {
+            return (bits[idx >> 6] & (1L << idx)) != 0;
+        }
+
+        boolean set(int idx) {
+            long mask = 1L << idx;
+            if ((bits[idx >> 6] & mask) != 0) return false;
+            bits[idx >> 6] |= mask;
+            count++;
+            return true;
+        }
+
+        boolean clear(int idx) {
+            long mask = 1L << idx;
+            if ((bits[idx >> 6] & mask) == 0) return false;
+            bits[idx >> 6] &= ~mask;
+            count--;
+            return true;
+        }
+
+        void forEach(int x0, int y0, int z0, Consumer<BlockPos> consumer) {
+            for (int w = 0; w < WORDS; w++) {
+                long word = bits[w];
+                while (word != 0) {
+                    consumer.accept(toPos(x0, y0, z0, (w << 6) | Long.numberOfTrailingZeros(word)));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        static BlockPos toPos(int x0, int y0, int z0, int idx) {
+            return new BlockPos(x0 + (idx & 15), y0 + (idx >> 8), z0 + ((idx >> 4) & 15));
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * This file is part of pnc-repressurized.
+ *
+ *     pnc-repressurized is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     pnc-repressurized is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with pnc-repressurized.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.desht.pneumaticcraft.common.progwidgets.area;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A symbolic set of block positions, which can be tested for membership without enumerating it. Chains of area
+ * widgets compile into a tree of shapes (the union of the whitelisted areas, minus the union of the blacklisted
+ * areas), so that blacklisted areas never need to be materialised.
+ */
+public interface AreaShape {
+    AreaShape EMPTY = new AreaShape() {
+        @Override
+        public boolean contains(BlockPos pos) {
+            return false;
+        }
+
+        @Override
+        public void forEach(Consumer<BlockPos> consumer) {
+        }
+
+        @Override
+        public long getScanVolume() {
+            return 0;
+        }
+    };
+
+    /**
+     * Check if the given position is part of this shape.
+     *
+     * @param pos the position
+     * @return true if the position is in this shape
+     */
+    boolean contains(BlockPos pos);
+
+    /**
+     * Pass every position in this shape to the given consumer. Positions may be passed more than once, e.g. where
+     * the members of a union overlap.
+     *
+     * @param consumer receives each position
+     */
+    void forEach(Consumer<BlockPos> consumer);
+
+    /**
+     * Get the number of positions which {@link #forEach(Consumer)} has to examine. For generated shapes, this is
+     * the volume scanned by the generator, which can be far more than the number of positions actually in the shape
+     * (e.g. a hollow sphere); it's used to refuse shapes which would be too expensive to enumerate at all.
+     *
+     * @return the number of positions examined when enumerating this shape
+     */
+    long getScanVolume();
+
+    /**
+     * Check if this shape is incomplete, because generating its positions was stopped once the maximum programming
+     * area size was exceeded. An incomplete shape can't be trusted, even if the final area ends up small enough.
+     *
+     * @return true if this shape is incomplete
+     */
+    default boolean isTruncated() {
+        return false;
+    }
+
+    /**
+     * Create a shape from an existing set of positions.
+     *
+     * @param positions the positions, which should not be modified afterwards
+     * @return a shape
+     */
+    static AreaShape of(Set<BlockPos> positions) {
+        return of(positions, false);
+    }
+
+    /**
+     * Create a shape from an existing set of positions, which may be incomplete.
+     *
+     * @param positions the positions, which should not be modified afterwards
+     * @param truncated true if generation of the positions was stopped early
+     * @return a shape
+     */
+    static AreaShape of(Set<BlockPos> positions, boolean truncated) {
+        return new AreaShape() {
+            @Override
+            public boolean contains(BlockPos pos) {
+                return positions.contains(pos);
+            }
+
+            @Override
+            public void forEach(Consumer<BlockPos> consumer) {
+                positions.forEach(consumer);
+            }
+
+            @Override
+            public long getScanVolume() {
+                return positions.size();
+            }
+
+            @Override
+            public boolean isTruncated() {
+                return truncated;
+            }
+        };
+    }
+
+    /**
+     * Create a shape from a membership test, and a generator which produces exactly those positions which pass the
+     * test. The test is only called for positions inside the given bounds.
+     *
+     * @param bounds bounds of the shape; no position outside these bounds is part of the shape
+     * @param test the membership test
+     * @param generator a generator for the positions of the shape
+     * @return a shape
+     */
+    static AreaShape of(BoundingBox bounds, Predicate<BlockPos> test, Consumer<Consumer<BlockPos>> generator) {
+        return of(bounds, (long) bounds.getXSpan() * bounds.getYSpan() * bounds.getZSpan(), test, generator);
+    }
+
+    /**
+     * As {@link #of(BoundingBox, Predicate, Consumer)}, for generators which don't scan their whole bounds.
+     *
+     * @param bounds bounds of the shape; no position outside these bounds is part of the shape
+     * @param scanVolume the number of positions the generator examines
+     * @param test the membership test
+     * @param generator a generator for the positions of the shape
+     * @return a shape
+     */
+    static AreaShape of(BoundingBox bounds, long scanVolume, Predicate<BlockPos> test, Consumer<Consumer<BlockPos>> generator) {
+        return new AreaShape() {
+            @Override
+            public boolean contains(BlockPos pos) {
+                return bounds.isInside(pos) && test.test(pos);
+            }
+
+            @Override
+            public void forEach(Consumer<BlockPos> consumer) {
+                generator.accept(consumer);
+            }
+
+            @Override
+            public long getScanVolume() {
+                return scanVolume;
+            }
+        };
+    }
+
+    static AreaShape union(List<AreaShape> shapes) {
+        if (shapes.isEmpty()) return EMPTY;
+        if (shapes.size() == 1) return shapes.get(0);
+        AreaShape[] members = shapes.toArray(new AreaShape[0]);
+        return new AreaShape() {
+            @Override
+            public boolean contains(BlockPos pos) {
+                for (AreaShape shape : members) {
+                    if (shape.contains(pos)) return true;
+                }
+                return false;
+            }
+
+            @Override
+            public void forEach(Consumer<BlockPos> consumer) {
+                for (AreaShape shape : members) {
+                    shape.forEach(consumer);
+                }
+            }
+
+            @Override
+            public long getScanVolume() {
+                long volume = 0;
+                for (AreaShape shape : members) {
+                    volume += shape.getScanVolume();
+                }
+                return volume;
+            }
+
+            @Override
+            public boolean isTruncated() {
+                for (AreaShape shape : members) {
+                    if (shape.isTruncated()) return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    static AreaShape difference(AreaShape shape, AreaShape removed) {
+        if (shape == EMPTY || removed == EMPTY) return shape;
+        return new AreaShape() {
+            @Override
+            public boolean contains(BlockPos pos) {
+                return shape.contains(pos) && !removed.contains(pos);
+            }
+
+            @Override
+            public void forEach(Consumer<BlockPos> consumer) {
+                shape.forEach(pos -> {
+                    if (!removed.contains(pos)) consumer.accept(pos);
+                });
+            }
+
+            @Override
+            public long getScanVolume() {
+                // the removed shape is only ever tested, never enumerated
+                return shape.getScanVolume();
+            }
+
+            @Override
+            public boolean isTruncated() {
+                return shape.isTruncated() || removed.isTruncated();
+            }
+        };
+    }
+}
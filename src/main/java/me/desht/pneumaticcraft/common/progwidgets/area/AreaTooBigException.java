@@ -17,6 +17,12 @@
 
 package me.desht.pneumaticcraft.common.progwidgets.area;
 
-public class AreaTooBigException extends RuntimeException{
-
+/**
+ * Thrown to stop enumerating an area once it exceeds the configured maximum size. Only used for flow control, so no
+ * stack trace is captured.
+ */
+public class AreaTooBigException extends RuntimeException {
+    public AreaTooBigException() {
+        super(null, null, false, false);
+    }
 }
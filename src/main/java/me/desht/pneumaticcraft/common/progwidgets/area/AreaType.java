@@ -17,6 +17,7 @@
 
 package me.desht.pneumaticcraft.common.progwidgets.area;
 
+import me.desht.pneumaticcraft.common.config.ConfigHelper;
 import me.desht.pneumaticcraft.common.util.LegacyAreaWidgetConverter;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
@@ -27,6 +28,9 @@ import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 public abstract class AreaType {
+    // how many positions may be examined to enumerate an area, as a multiple of the maximum programming area size
+    private static final long MAX_SCAN_VOLUME_MULTIPLIER = 8;
+
     private final String translationKey;
     private final String name;
 
@@ -61,6 +65,70 @@ public abstract class AreaType {
      */
     public abstract void addArea(Consumer<BlockPos> areaAdder, BlockPos p1, BlockPos p2, int minX, int minY, int minZ, int maxX, int maxY, int maxZ);
 
+    /**
+     * Get the area defined by this type as a shape, which can be tested for membership without enumerating the area.
+     * The default implementation materialises the area with {@link #addArea(Consumer, BlockPos, BlockPos, int, int, int, int, int, int)}
+     * (up to the configured maximum programming area size); area types which can test membership directly should
+     * override this.
+     *
+     * @param p1 the first raw blockpos of the area
+     * @param p2 the second raw blockpos of the area
+     * @param minX min X coord
+     * @param minY min Y coord
+     * @param minZ min Z coord
+     * @param maxX max X coord
+     * @param maxY max Y coord
+     * @param maxZ max Z coord
+     * @return the area's shape
+     */
+    public AreaShape getShape(BlockPos p1, BlockPos p2, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        AreaSet area = new AreaSet();
+        if (getGenerationScanVolume(p1, p2, minX, minY, minZ, maxX, maxY, maxZ) > getMaxScanVolume()) {
+            return AreaShape.of(area, true);
+        }
+        int maxSize = ConfigHelper.common().general.maxProgrammingArea.get();
+        try {
+            addArea(p -> {
+                if (area.add(p) && area.size() > maxSize) throw new AreaTooBigException();
+            }, p1, p2, minX, minY, minZ, maxX, maxY, maxZ);
+        } catch (AreaTooBigException e) {
+            // generated positions have to be held in memory, so unlike the symbolic area types, these are capped
+            return AreaShape.of(area, true);
+        }
+        return AreaShape.of(area);
+    }
+
+    /**
+     * Get the number of positions {@link #addArea(Consumer, BlockPos, BlockPos, int, int, int, int, int, int)}
+     * examines without necessarily adding them. Most area types add (nearly) every position they examine, and are
+     * kept in check by the maximum programming area size; area types which scan much more than they add should
+     * override this, so that huge areas are refused before they're generated.
+     *
+     * @param p1 the first raw blockpos of the area
+     * @param p2 the second raw blockpos of the area
+     * @param minX min X coord
+     * @param minY min Y coord
+     * @param minZ min Z coord
+     * @param maxX max X coord
+     * @param maxY max Y coord
+     * @param maxZ max Z coord
+     * @return the number of positions examined without being added
+     */
+    protected long getGenerationScanVolume(BlockPos p1, BlockPos p2, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        return 0;
+    }
+
+    /**
+     * Get the maximum number of positions which may be examined to enumerate an area (see
+     * {@link AreaShape#getScanVolume()}). This bounds the work done for huge but sparse areas (e.g. a hollow
+     * sphere, or a box mostly blacklisted away) which never come near the maximum programming area size.
+     *
+     * @return the maximum scan volume
+     */
+    public static long getMaxScanVolume() {
+        return MAX_SCAN_VOLUME_MULTIPLIER * ConfigHelper.common().general.maxProgrammingArea.get();
+    }
+
     /**
      * Called when loading old-style programs from pastebin etc.  Convert any old-fashioned area representations to
      * their modern equivalents.
@@ -22,9 +22,11 @@ import net.minecraft.client.resources.language.I18n;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
 
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class AreaTypeBox extends AreaType {
 
@@ -56,6 +58,23 @@ public class AreaTypeBox extends AreaType {
         return getName() + "/" + boxType;
     }
 
+    @Override
+    public AreaShape getShape(BlockPos p1, BlockPos p2, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        Predicate<BlockPos> test = switch (boxType) {
+            case FILLED -> pos -> true;
+            case HOLLOW -> pos -> pos.getX() == minX || pos.getX() == maxX || pos.getY() == minY || pos.getY() == maxY || pos.getZ() == minZ || pos.getZ() == maxZ;
+            case FRAME -> pos -> {
+                int axisRight = 0;
+                if (pos.getX() == minX || pos.getX() == maxX) axisRight++;
+                if (pos.getY() == minY || pos.getY() == maxY) axisRight++;
+                if (pos.getZ() == minZ || pos.getZ() == maxZ) axisRight++;
+                return axisRight > 1;
+            };
+        };
+        return AreaShape.of(new BoundingBox(minX, minY, minZ, maxX, maxY, maxZ), test,
+                adder -> addArea(adder, p1, p2, minX, minY, minZ, maxX, maxY, maxZ));
+    }
+
     @Override
     public void addArea(Consumer<BlockPos> areaAdder, BlockPos p1, BlockPos p2, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
         switch (boxType) {
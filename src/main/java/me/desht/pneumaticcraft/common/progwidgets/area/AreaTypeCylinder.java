@@ -23,6 +23,7 @@ import net.minecraft.client.resources.language.I18n;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
 
 import java.util.List;
 import java.util.function.Consumer;
@@ -58,6 +59,51 @@ public class AreaTypeCylinder extends AreaType {
         return getName() + "/" + cylinderType + "/" + axis;
     }
 
+    @Override
+    public AreaShape getShape(BlockPos p1, BlockPos p2, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        // same bounds & tests as addArea(): the cylinder runs along the axis between the min & max coords on that axis
+        EnumAxis shapeAxis = axis;
+        EnumCylinderType shapeType = cylinderType;
+        double rad = switch (shapeAxis) {
+            case X -> PneumaticCraftUtils.distBetween(p1.getY(), p1.getZ(), p2.getY(), p2.getZ());
+            case Y -> PneumaticCraftUtils.distBetween(p1.getX(), p1.getZ(), p2.getX(), p2.getZ());
+            case Z -> PneumaticCraftUtils.distBetween(p1.getX(), p1.getY(), p2.getX(), p2.getY());
+        };
+        double radSq = rad * rad;
+        double innerRadius = rad - 1;
+        double innerRadiusSq = innerRadius * innerRadius;
+        BoundingBox bounds = new BoundingBox(
+                shapeAxis == EnumAxis.X ? minX : (int) (p1.getX() - rad - 1),
+                shapeAxis == EnumAxis.Y ? minY : (int) (p1.getY() - rad - 1),
+                shapeAxis == EnumAxis.Z ? minZ : (int) (p1.getZ() - rad - 1),
+                shapeAxis == EnumAxis.X ? maxX : (int) (p1.getX() + rad + 1),
+                shapeAxis == EnumAxis.Y ? maxY : (int) (p1.getY() + rad + 1),
+                shapeAxis == EnumAxis.Z ? maxZ : (int) (p1.getZ() + rad + 1)
+        );
+        return AreaShape.of(bounds, pos -> {
+            double centerDistSq;
+            boolean atEnd;
+            switch (shapeAxis) {
+                case X -> {
+                    centerDistSq = PneumaticCraftUtils.distBetweenSq(p1.getY(), p1.getZ(), pos.getY(), pos.getZ());
+                    atEnd = pos.getX() == minX || pos.getX() == maxX;
+                }
+                case Y -> {
+                    centerDistSq = PneumaticCraftUtils.distBetweenSq(p1.getX(), p1.getZ(), pos.getX(), pos.getZ());
+                    atEnd = pos.getY() == minY || pos.getY() == maxY;
+                }
+                case Z -> {
+                    centerDistSq = PneumaticCraftUtils.distBetweenSq(p1.getX(), p1.getY(), pos.getX(), pos.getY());
+                    atEnd = pos.getZ() == minZ || pos.getZ() == maxZ;
+                }
+                default -> throw new IllegalArgumentException(shapeAxis.toString());
+            }
+            return centerDistSq <= radSq && (centerDistSq >= innerRadiusSq
+                    || shapeType == EnumCylinderType.FILLED
+                    || shapeType == EnumCylinderType.HOLLOW && atEnd);
+        }, adder -> addArea(adder, p1, p2, minX, minY, minZ, maxX, maxY, maxZ));
+    }
+
     @Override
     public void addArea(Consumer<BlockPos> areaAdder, BlockPos p1, BlockPos p2, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
         switch (axis) {
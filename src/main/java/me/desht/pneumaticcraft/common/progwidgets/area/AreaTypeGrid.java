@@ -21,6 +21,7 @@ import me.desht.pneumaticcraft.common.util.LegacyAreaWidgetConverter;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
 
 import java.util.List;
 import java.util.function.Consumer;
@@ -39,6 +40,18 @@ public class AreaTypeGrid extends AreaType{
         return getName() + "/" + interval;
     }
 
+    @Override
+    public AreaShape getShape(BlockPos p1, BlockPos p2, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        int step = interval;
+        if (p1.equals(p2) || step <= 0) {
+            return AreaShape.of(new BoundingBox(p1), pos -> true, adder -> adder.accept(p1));
+        }
+        long scanVolume = (long) ((maxX - minX) / step + 1) * ((maxY - minY) / step + 1) * ((maxZ - minZ) / step + 1);
+        return AreaShape.of(new BoundingBox(minX, minY, minZ, maxX, maxY, maxZ), scanVolume,
+                pos -> (pos.getX() - minX) % step == 0 && (pos.getY() - minY) % step == 0 && (pos.getZ() - minZ) % step == 0,
+                adder -> addArea(adder, p1, p2, minX, minY, minZ, maxX, maxY, maxZ));
+    }
+
     @Override
     public void addArea(Consumer<BlockPos> areaAdder, BlockPos p1, BlockPos p2, int minX, int minY, int minZ, int maxX, int maxY, int maxZ){
         if (p1.equals(p2) || interval <= 0) {
@@ -58,6 +58,14 @@ public class AreaTypePyramid extends AreaType {
         return getName() + "/" + pyramidType + "/" + axis;
     }
 
+    @Override
+    protected long getGenerationScanVolume(BlockPos p1, BlockPos p2, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        // a hollow pyramid scans every layer in full, but only adds its edges
+        if (pyramidType != EnumAreaTypePyramid.HOLLOW) return 0;
+        long w = 2L * (maxX - minX) + 1, h = 2L * (maxY - minY) + 1, d = 2L * (maxZ - minZ) + 1;
+        return w * h * d;
+    }
+
     @Override
     public void addArea(Consumer<BlockPos> areaAdder, BlockPos p1, BlockPos p2, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
         switch (axis) {
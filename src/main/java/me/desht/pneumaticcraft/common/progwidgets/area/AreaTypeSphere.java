@@ -22,6 +22,7 @@ import net.minecraft.client.resources.language.I18n;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
 
 import java.util.List;
 import java.util.function.Consumer;
@@ -56,6 +57,22 @@ public class AreaTypeSphere extends AreaType{
         return getName() + "/" + sphereType;
     }
 
+    @Override
+    public AreaShape getShape(BlockPos p1, BlockPos p2, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        double radius = PneumaticCraftUtils.distBetween(p1, p2);
+        double radiusSq = radius * radius;
+        double innerRadius = sphereType == EnumSphereType.HOLLOW ? radius - 1 : 0;
+        double innerRadiusSq = innerRadius * innerRadius;
+        BoundingBox bounds = new BoundingBox(
+                (int) (p1.getX() - radius - 1), (int) (p1.getY() - radius - 1), (int) (p1.getZ() - radius - 1),
+                (int) (p1.getX() + radius + 1), (int) (p1.getY() + radius + 1), (int) (p1.getZ() + radius + 1)
+        );
+        return AreaShape.of(bounds, pos -> {
+            double centerDistSq = PneumaticCraftUtils.distBetweenSq(p1, pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5);
+            return centerDistSq <= radiusSq && centerDistSq >= innerRadiusSq;
+        }, adder -> addArea(adder, p1, p2, minX, minY, minZ, maxX, maxY, maxZ));
+    }
+
     @Override
     public void addArea(Consumer<BlockPos> areaAdder, BlockPos p1, BlockPos p2, int minX, int minY, int minZ, int maxX, int maxY, int maxZ){
         double radius = PneumaticCraftUtils.distBetween(p1, p2);
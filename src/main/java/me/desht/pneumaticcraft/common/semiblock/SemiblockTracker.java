@@ -17,15 +17,20 @@
 
 package me.desht.pneumaticcraft.common.semiblock;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import me.desht.pneumaticcraft.api.lib.Names;
 import me.desht.pneumaticcraft.api.semiblock.IDirectionalSemiblock;
 import me.desht.pneumaticcraft.api.semiblock.ISemiBlock;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.AABB;
 import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.event.world.ChunkEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 
@@ -40,12 +45,13 @@ import java.util.stream.Stream;
 /**
  * Server side tracker to find the semiblock entities at a given world and blockpos
  * (Note that one blockpos could have up to 7 semiblocks - one non-sided plus six sided semiblocks)
+ * Semiblocks are bucketed by chunk, so area queries only need to look at the chunks which the area overlaps.
  */
 @Mod.EventBusSubscriber(modid = Names.MOD_ID)
 public enum SemiblockTracker {
     INSTANCE;
 
-    private static final Map<ResourceLocation, Map<BlockPos, SemiblockCollection>> semiblockMap = new HashMap<>();
+    private static final Map<ResourceLocation, Long2ObjectMap<Map<BlockPos, SemiblockCollection>>> semiblockMap = new HashMap<>();
 
     public static SemiblockTracker getInstance() {
         return INSTANCE;
@@ -60,6 +66,15 @@ public enum SemiblockTracker {
         }
     }
 
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        // semiblock entities have already been removed by the time their chunk unloads; drop anything left over
+        if (event.getWorld() instanceof Level level && !level.isClientSide) {
+            Long2ObjectMap<Map<BlockPos, SemiblockCollection>> chunks = semiblockMap.get(level.dimension().location());
+            if (chunks != null) chunks.remove(event.getChunk().getPos().toLong());
+        }
+    }
+
     /**
      * Retrieve the semiblock entity at the given world/pos
      * @param world the world
@@ -78,9 +93,7 @@ public enum SemiblockTracker {
      * @return the entity, or null if none was found
      */
     public ISemiBlock getSemiblock(Level world, BlockPos pos, Direction direction) {
-        Map<BlockPos, SemiblockCollection> map = semiblockMap.get(getKey(world));
-        if (map == null) return null;
-        SemiblockCollection sc = map.get(pos);
+        SemiblockCollection sc = getCollection(world, pos);
         return sc == null ? null : sc.get(direction);
     }
 
@@ -103,10 +116,8 @@ public enum SemiblockTracker {
      * @return a stream of all the semiblocks at the given position
      */
     public Stream<ISemiBlock> getAllSemiblocks(Level world, BlockPos pos, Direction offsetDir) {
-        Map<BlockPos, SemiblockCollection> map = semiblockMap.computeIfAbsent(getKey(world), k -> new HashMap<>());
-        if (map.isEmpty()) return Stream.empty();
-        SemiblockCollection sc = map.get(pos);
-        if (sc == null && offsetDir != null) sc = map.get(pos.relative(offsetDir));
+        SemiblockCollection sc = getCollection(world, pos);
+        if (sc == null && offsetDir != null) sc = getCollection(world, pos.relative(offsetDir));
         return sc == null ? Stream.empty() : sc.getAll();
     }
 
@@ -117,9 +128,18 @@ public enum SemiblockTracker {
      * @param direction the side of the block, or null for the block itself
      */
     public void clearSemiblock(Level world, BlockPos pos, Direction direction) {
-        Map<BlockPos, SemiblockCollection> map = semiblockMap.computeIfAbsent(getKey(world), k -> new HashMap<>());
-        SemiblockCollection sc = map.get(pos);
-        if (sc != null) sc.clear(direction);
+        Long2ObjectMap<Map<BlockPos, SemiblockCollection>> chunks = semiblockMap.get(getKey(world));
+        if (chunks == null) return;
+        long chunkKey = ChunkPos.asLong(pos);
+        Map<BlockPos, SemiblockCollection> map = chunks.get(chunkKey);
+        SemiblockCollection sc = map == null ? null : map.get(pos);
+        if (sc != null) {
+            sc.clear(direction);
+            if (sc.isEmpty()) {
+                map.remove(pos);
+                if (map.isEmpty()) chunks.remove(chunkKey);
+            }
+        }
     }
 
     /**
@@ -131,7 +151,8 @@ public enum SemiblockTracker {
      * @return true if it was added OK, false if there was already a semiblock there (which is an error)
      */
     public boolean putSemiblock(Level world, BlockPos pos, ISemiBlock entity) {
-        Map<BlockPos, SemiblockCollection> map = semiblockMap.computeIfAbsent(getKey(world), k -> new HashMap<>());
+        Map<BlockPos, SemiblockCollection> map = semiblockMap.computeIfAbsent(getKey(world), k -> new Long2ObjectOpenHashMap<>())
+                .computeIfAbsent(ChunkPos.asLong(pos), k -> new HashMap<>());
 
         SemiblockCollection sc = map.get(pos);
         if (sc == null) {
@@ -149,13 +170,40 @@ public enum SemiblockTracker {
      * @return a stream of semiblock in the area
      */
     public Stream<ISemiBlock> getSemiblocksInArea(Level world, AABB aabb) {
-        Map<BlockPos, SemiblockCollection> map = semiblockMap.computeIfAbsent(getKey(world), k -> new HashMap<>());
+        Long2ObjectMap<Map<BlockPos, SemiblockCollection>> chunks = semiblockMap.get(getKey(world));
+        if (chunks == null || chunks.isEmpty()) return Stream.empty();
 
-        return map.entrySet().stream()
+        int minX = Mth.floor(aabb.minX) >> 4, maxX = Mth.floor(aabb.maxX) >> 4;
+        int minZ = Mth.floor(aabb.minZ) >> 4, maxZ = Mth.floor(aabb.maxZ) >> 4;
+        List<Map<BlockPos, SemiblockCollection>> buckets = new ArrayList<>();
+        if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > chunks.size()) {
+            // big area: cheaper to check every occupied chunk than every chunk in the area
+            for (Long2ObjectMap.Entry<Map<BlockPos, SemiblockCollection>> entry : chunks.long2ObjectEntrySet()) {
+                int cx = ChunkPos.getX(entry.getLongKey()), cz = ChunkPos.getZ(entry.getLongKey());
+                if (cx >= minX && cx <= maxX && cz >= minZ && cz <= maxZ) buckets.add(entry.getValue());
+            }
+        } else {
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    Map<BlockPos, SemiblockCollection> bucket = chunks.get(ChunkPos.asLong(cx, cz));
+                    if (bucket != null) buckets.add(bucket);
+                }
+            }
+        }
+
+        return buckets.stream()
+                .flatMap(bucket -> bucket.entrySet().stream())
                 .filter(e -> aabb.contains(e.getKey().getX(), e.getKey().getY(), e.getKey().getZ()))
                 .flatMap(e -> e.getValue().getAll());
     }
 
+    private SemiblockCollection getCollection(Level world, BlockPos pos) {
+        Long2ObjectMap<Map<BlockPos, SemiblockCollection>> chunks = semiblockMap.get(getKey(world));
+        if (chunks == null) return null;
+        Map<BlockPos, SemiblockCollection> map = chunks.get(ChunkPos.asLong(pos));
+        return map == null ? null : map.get(pos);
+    }
+
     private ResourceLocation getKey(Level world) {
         return world.dimension().location();
     }
@@ -198,6 +246,10 @@ public enum SemiblockTracker {
             }
         }
 
+        boolean isEmpty() {
+            return center.get() == null && sides.stream().allMatch(ref -> ref.get() == null);
+        }
+
         Stream<ISemiBlock> getAll() {
             Stream<ISemiBlock> s1 = center.get() == null  ? Stream.empty() : Stream.of(center.get());
             Stream<ISemiBlock> s2 = sides.stream()
@@ -0,0 +1,145 @@
+/*
+ * This file is part of pnc-repressurized.
+ *
+ *     pnc-repressurized is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     pnc-repressurized is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with pnc-repressurized.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.desht.pneumaticcraft.common.sensor;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import me.desht.pneumaticcraft.api.lib.Names;
+import me.desht.pneumaticcraft.common.block.entity.UniversalSensorBlockEntity;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.*;
+
+/**
+ * Server side tracker which tells Universal Sensors running an {@link IBlockChangeSensor} when a block changes in any
+ * chunk section their area covers. A block update outside watched sections costs no more than a map lookup.
+ */
+@Mod.EventBusSubscriber(modid = Names.MOD_ID)
+public class BlockSensorTracker {
+    private static final Map<ResourceLocation, Long2ObjectMap<List<UniversalSensorBlockEntity>>> listeners = new HashMap<>();
+    private static final Map<UniversalSensorBlockEntity, Watch> watches = new IdentityHashMap<>();
+
+    @SubscribeEvent
+    public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        if (event.getWorld() instanceof Level level && !level.isClientSide) {
+            Long2ObjectMap<List<UniversalSensorBlockEntity>> sections = listeners.get(level.dimension().location());
+            if (sections != null && !sections.isEmpty()) {
+                List<UniversalSensorBlockEntity> sensors = sections.get(SectionPos.asLong(event.getPos()));
+                if (sensors != null) {
+                    // copied, since a sensor updating its neighbours could cause sensors to be added or removed
+                    for (UniversalSensorBlockEntity sensor : new ArrayList<>(sensors)) {
+                        sensor.onBlockChanged(event.getPos());
+                    }
+                }
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        // newly-loaded blocks don't cause block updates, so any watching sensor needs to rescan
+        if (event.getWorld() instanceof Level level && !level.isClientSide) {
+            Long2ObjectMap<List<UniversalSensorBlockEntity>> sections = listeners.get(level.dimension().location());
+            if (sections != null && !sections.isEmpty()) {
+                ChunkAccess chunk = event.getChunk();
+                Set<UniversalSensorBlockEntity> toRescan = Collections.newSetFromMap(new IdentityHashMap<>());
+                for (int sy = level.getMinSection(); sy < level.getMaxSection(); sy++) {
+                    List<UniversalSensorBlockEntity> sensors = sections.get(SectionPos.asLong(chunk.getPos().x, sy, chunk.getPos().z));
+                    if (sensors != null) toRescan.addAll(sensors);
+                }
+                toRescan.forEach(sensor -> sensor.onBlockChanged(null));
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        listeners.clear();
+        watches.clear();
+    }
+
+    /**
+     * Start (or restart) watching for block changes near the given positions, replacing any existing watch for the
+     * sensor.
+     *
+     * @param sensor the sensor
+     * @param positions the positions of interest
+     * @param radius how far from the positions a block change is of interest
+     */
+    public static void watch(UniversalSensorBlockEntity sensor, Collection<BlockPos> positions, int radius) {
+        unwatch(sensor);
+        Level level = sensor.getLevel();
+        if (level == null || level.isClientSide || positions.isEmpty()) return;
+
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (BlockPos pos : positions) {
+            minX = Math.min(minX, pos.getX()); maxX = Math.max(maxX, pos.getX());
+            minY = Math.min(minY, pos.getY()); maxY = Math.max(maxY, pos.getY());
+            minZ = Math.min(minZ, pos.getZ()); maxZ = Math.max(maxZ, pos.getZ());
+        }
+
+        ResourceLocation dim = level.dimension().location();
+        Long2ObjectMap<List<UniversalSensorBlockEntity>> sections = listeners.computeIfAbsent(dim, k -> new Long2ObjectOpenHashMap<>());
+        LongList keys = new LongArrayList();
+        for (int sx = SectionPos.blockToSectionCoord(minX - radius); sx <= SectionPos.blockToSectionCoord(maxX + radius); sx++) {
+            for (int sy = SectionPos.blockToSectionCoord(minY - radius); sy <= SectionPos.blockToSectionCoord(maxY + radius); sy++) {
+                for (int sz = SectionPos.blockToSectionCoord(minZ - radius); sz <= SectionPos.blockToSectionCoord(maxZ + radius); sz++) {
+                    long key = SectionPos.asLong(sx, sy, sz);
+                    sections.computeIfAbsent(key, k -> new ArrayList<>()).add(sensor);
+                    keys.add(key);
+                }
+            }
+        }
+        watches.put(sensor, new Watch(dim, keys));
+    }
+
+    /**
+     * Stop watching for block changes for the given sensor.
+     *
+     * @param sensor the sensor
+     */
+    public static void unwatch(UniversalSensorBlockEntity sensor) {
+        Watch watch = watches.remove(sensor);
+        if (watch == null) return;
+
+        Long2ObjectMap<List<UniversalSensorBlockEntity>> sections = listeners.get(watch.dimension());
+        if (sections == null) return;
+        for (long key : watch.sectionKeys()) {
+            List<UniversalSensorBlockEntity> sensors = sections.get(key);
+            if (sensors != null && sensors.remove(sensor) && sensors.isEmpty()) {
+                sections.remove(key);
+            }
+        }
+        if (sections.isEmpty()) listeners.remove(watch.dimension());
+    }
+
+    private record Watch(ResourceLocation dimension, LongList sectionKeys) {
+    }
+}
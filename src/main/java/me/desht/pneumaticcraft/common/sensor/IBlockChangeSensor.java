@@ -0,0 +1,70 @@
+/*
+ * This file is part of pnc-repressurized.
+ *
+ *     pnc-repressurized is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     pnc-repressurized is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with pnc-repressurized.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.desht.pneumaticcraft.common.sensor;
+
+import me.desht.pneumaticcraft.api.universal_sensor.IBlockAndCoordinatePollSensor;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+
+import java.util.Set;
+
+/**
+ * A block sensor whose output is the highest of a 0-15 value calculated for each of its GPS positions, where each
+ * position's value can only change when a block at or near that position changes. Universal Sensors don't poll these
+ * sensors; instead they watch their area for block changes (see {@link BlockSensorTracker}), and keep a running count
+ * of how many positions have each value. The sensor's {@link #getPollFrequency() poll frequency} is used as the delay
+ * between a block change and the recalculation of the positions it affects.
+ */
+public interface IBlockChangeSensor extends IBlockAndCoordinatePollSensor {
+    /**
+     * Get the value for a single position.
+     *
+     * @param level the level
+     * @param pos the position
+     * @return a value in the range 0-15
+     */
+    int getPositionValue(Level level, BlockPos pos);
+
+    /**
+     * How far from a position can a block change affect the value at that position?
+     *
+     * @return a distance in blocks; 0 if only the block at the position itself matters
+     */
+    default int getChangeRadius() {
+        return 0;
+    }
+
+    /**
+     * Check if position values also depend on the level's sky darkening (i.e. the time of day and the weather).
+     *
+     * @return true if values need recalculating when the sky darkening changes
+     */
+    default boolean dependsOnSkyDarken() {
+        return false;
+    }
+
+    @Override
+    default int getRedstoneValue(Level world, BlockPos pos, int sensorRange, String textBoxText, Set<BlockPos> positions) {
+        int value = 0;
+        for (BlockPos p : positions) {
+            value = Math.max(value, getPositionValue(world, p));
+            if (value == 15) break;
+        }
+        return value;
+    }
+}
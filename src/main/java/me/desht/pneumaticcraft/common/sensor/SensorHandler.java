@@ -34,6 +34,7 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraftforge.eventbus.api.Event;
 
+import javax.annotation.Nullable;
 import java.util.*;
 
 public class SensorHandler implements ISensorRegistry {
@@ -73,6 +74,17 @@ public class SensorHandler implements ISensorRegistry {
         return sensors.get(buttonPath);
     }
 
+    /**
+     * Get the block change sensor underlying the given sensor setting, if there is one.
+     *
+     * @param sensor a sensor setting, as returned by {@link #getSensorFromPath(String)}
+     * @return the block change sensor, or null if the setting isn't one
+     */
+    @Nullable
+    public IBlockChangeSensor getBlockChangeSensor(@Nullable ISensorSetting sensor) {
+        return sensor instanceof BlockAndCoordinatePollSensor s && s.coordinateSensor instanceof IBlockChangeSensor b ? b : null;
+    }
+
     private List<ISensorSetting> getSensorsFromPath(String buttonPath) {
         List<ISensorSetting> matchingSensors = new ArrayList<>();
         for (Map.Entry<String, ISensorSetting> entry : sensors.entrySet()) {
@@ -172,6 +184,17 @@ public class SensorHandler implements ISensorRegistry {
         registerSensor(new BlockAndCoordinatePollSensor(sensor));
     }
 
+    /**
+     * Check if the given event sensor is a block and coordinate sensor, whose range is measured from the GPS-selected
+     * positions rather than from the player.
+     *
+     * @param sensor the sensor setting
+     * @return true if the sensor reacts to events on GPS-selected blocks
+     */
+    public static boolean isBlockEventSensor(IEventSensorSetting sensor) {
+        return sensor instanceof BlockAndCoordinateEventSensor;
+    }
+
     private static class BlockAndCoordinateEventSensor implements IEventSensorSetting {
         private final IBlockAndCoordinateEventSensor coordinateSensor;
 
@@ -211,6 +234,16 @@ public class SensorHandler implements ISensorRegistry {
             return coordinateSensor.getRedstonePulseLength();
         }
 
+        @Override
+        public Set<Class<? extends Event>> getEventTypes() {
+            return coordinateSensor.getEventTypes();
+        }
+
+        @Override
+        public boolean isRangeLimited() {
+            return coordinateSensor.isRangeLimited();
+        }
+
         @Override
         public void getAdditionalInfo(List<Component> info) {
             coordinateSensor.getAdditionalInfo(info);
@@ -57,4 +57,15 @@ public class BlockInteractSensor implements IBlockAndCoordinateEventSensor {
     public int getRedstonePulseLength() {
         return 5;
     }
+
+    @Override
+    public Set<Class<? extends Event>> getEventTypes() {
+        return Set.of(PlayerInteractEvent.class);
+    }
+
+    @Override
+    public boolean isRangeLimited() {
+        // GPS positions are always within the sensor's range
+        return true;
+    }
 }
@@ -20,6 +20,9 @@ package me.desht.pneumaticcraft.common.sensor.eventSensors;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraftforge.event.entity.player.EntityItemPickupEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.Event;
+
+import java.util.Set;
 
 public class PlayerItemPickupSensor extends PlayerEventSensor {
 
@@ -33,6 +36,11 @@ public class PlayerItemPickupSensor extends PlayerEventSensor {
         return false;
     }
 
+    @Override
+    public Set<Class<? extends Event>> getEventTypes() {
+        return Set.of(EntityItemPickupEvent.class);
+    }
+
     @Override
     public int emitRedstoneOnEvent(PlayerEvent event, BlockEntity sensor, int range) {
         return event instanceof EntityItemPickupEvent ? 15 : 0;
@@ -19,14 +19,14 @@ package me.desht.pneumaticcraft.common.sensor.pollSensors;
 
 import com.google.common.collect.ImmutableSet;
 import me.desht.pneumaticcraft.api.item.PNCUpgrade;
-import me.desht.pneumaticcraft.api.universal_sensor.IBlockAndCoordinatePollSensor;
 import me.desht.pneumaticcraft.common.core.ModUpgrades;
+import me.desht.pneumaticcraft.common.sensor.IBlockChangeSensor;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.Level;
 
 import java.util.Set;
 
-public class BlockLightLevelSensor implements IBlockAndCoordinatePollSensor {
+public class BlockLightLevelSensor implements IBlockChangeSensor {
 
     @Override
     public String getSensorPath() {
@@ -49,11 +49,18 @@ public class BlockLightLevelSensor implements IBlockAndCoordinatePollSensor {
     }
 
     @Override
-    public int getRedstoneValue(Level world, BlockPos pos, int sensorRange, String textBoxText, Set<BlockPos> positions) {
-        int lightValue = 0;
-        for (BlockPos p : positions) {
-            lightValue = Math.max(lightValue, world.getMaxLocalRawBrightness(p));
-        }
-        return lightValue;
+    public int getPositionValue(Level level, BlockPos pos) {
+        return level.getMaxLocalRawBrightness(pos);
+    }
+
+    @Override
+    public int getChangeRadius() {
+        // a light source can affect blocks up to 15 blocks away
+        return 15;
+    }
+
+    @Override
+    public boolean dependsOnSkyDarken() {
+        return true;
     }
 }
\ No newline at end of file
@@ -19,14 +19,14 @@ package me.desht.pneumaticcraft.common.sensor.pollSensors;
 
 import com.google.common.collect.ImmutableSet;
 import me.desht.pneumaticcraft.api.item.PNCUpgrade;
-import me.desht.pneumaticcraft.api.universal_sensor.IBlockAndCoordinatePollSensor;
 import me.desht.pneumaticcraft.common.core.ModUpgrades;
+import me.desht.pneumaticcraft.common.sensor.IBlockChangeSensor;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.Level;
 
 import java.util.Set;
 
-public class BlockPresenceSensor implements IBlockAndCoordinatePollSensor {
+public class BlockPresenceSensor implements IBlockChangeSensor {
 
     @Override
     public String getSensorPath() {
@@ -49,10 +49,7 @@ public class BlockPresenceSensor implements IBlockAndCoordinatePollSensor {
     }
 
     @Override
-    public int getRedstoneValue(Level world, BlockPos pos, int sensorRange, String textBoxText, Set<BlockPos> positions) {
-        for (BlockPos p : positions) {
-            if (!world.isEmptyBlock(p)) return 15;
-        }
-        return 0;
+    public int getPositionValue(Level level, BlockPos pos) {
+        return level.isEmptyBlock(pos) ? 0 : 15;
     }
 }
\ No newline at end of file
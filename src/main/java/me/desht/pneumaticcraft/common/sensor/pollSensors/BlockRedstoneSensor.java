@@ -19,14 +19,14 @@ package me.desht.pneumaticcraft.common.sensor.pollSensors;
 
 import com.google.common.collect.ImmutableSet;
 import me.desht.pneumaticcraft.api.item.PNCUpgrade;
-import me.desht.pneumaticcraft.api.universal_sensor.IBlockAndCoordinatePollSensor;
 import me.desht.pneumaticcraft.common.core.ModUpgrades;
+import me.desht.pneumaticcraft.common.sensor.IBlockChangeSensor;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.Level;
 
 import java.util.Set;
 
-public class BlockRedstoneSensor implements IBlockAndCoordinatePollSensor {
+public class BlockRedstoneSensor implements IBlockChangeSensor {
 
     @Override
     public String getSensorPath() {
@@ -49,12 +49,13 @@ public class BlockRedstoneSensor implements IBlockAndCoordinatePollSensor {
     }
 
     @Override
-    public int getRedstoneValue(Level world, BlockPos pos, int sensorRange, String textBoxText, Set<BlockPos> positions) {
-        int redstonePower = 0;
-        for (BlockPos pos1 : positions) {
-            redstonePower = Math.max(redstonePower, world.getBestNeighborSignal(pos1));
-            if (redstonePower == 15) return 15;
-        }
-        return redstonePower;
+    public int getPositionValue(Level level, BlockPos pos) {
+        return level.getBestNeighborSignal(pos);
+    }
+
+    @Override
+    public int getChangeRadius() {
+        // a change in signal strength always causes a block update at the emitting block
+        return 1;
     }
 }
\ No newline at end of file
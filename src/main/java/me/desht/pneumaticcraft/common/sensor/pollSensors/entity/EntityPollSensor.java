@@ -21,11 +21,11 @@ import com.google.common.collect.ImmutableSet;
 import me.desht.pneumaticcraft.api.item.PNCUpgrade;
 import me.desht.pneumaticcraft.api.universal_sensor.IPollSensorSetting;
 import me.desht.pneumaticcraft.common.core.ModUpgrades;
+import me.desht.pneumaticcraft.common.util.EntityQueryBroker;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
-import net.minecraft.world.level.entity.EntityTypeTest;
 import net.minecraft.world.phys.AABB;
 
 import java.util.List;
@@ -46,7 +46,7 @@ abstract class EntityPollSensor implements IPollSensorSetting {
     @Override
     public int getRedstoneValue(Level level, BlockPos pos, int sensorRange, String textBoxText) {
         AABB aabb = new AABB(pos.offset(-sensorRange, -sensorRange, -sensorRange), pos.offset(1 + sensorRange, 1 + sensorRange, 1 + sensorRange));
-        return getRedstoneValue(level.getEntities(EntityTypeTest.forClass(getEntityTracked()), aabb, Entity::isAlive), textBoxText);
+        return getRedstoneValue(EntityQueryBroker.getEntitiesOfClass(level, getEntityTracked(), aabb, Entity::isAlive), textBoxText);
     }
 
     protected abstract Class<? extends Entity> getEntityTracked();
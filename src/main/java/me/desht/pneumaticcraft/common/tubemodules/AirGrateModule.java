@@ -29,6 +29,7 @@ import me.desht.pneumaticcraft.common.network.PacketUpdatePressureBlock;
 import me.desht.pneumaticcraft.common.particle.AirParticleData;
 import me.desht.pneumaticcraft.common.util.DirectionUtil;
 import me.desht.pneumaticcraft.common.util.EntityFilter;
+import me.desht.pneumaticcraft.common.util.EntityQueryBroker;
 import me.desht.pneumaticcraft.common.util.PneumaticCraftUtils;
 import me.desht.pneumaticcraft.lib.PneumaticValues;
 import net.minecraft.ChatFormatting;
@@ -70,6 +71,8 @@ public class AirGrateModule extends AbstractTubeModule {
     @Nonnull
     private EntityFilter entityFilter = EntityFilter.allow();
     private final Map<BlockPos,Boolean> traceabilityCache = new HashMap<>();
+    // server side only; the client always pushes every tick, for smooth player movement
+    private final EntityQueryBroker.ScanBackoff entityScan = new EntityQueryBroker.ScanBackoff(1, 4);
 
     private LazyOptional<IItemHandler> itemInsertionCap = null; // null = "unknown", LazyOptional.empty() = "known absent"
     private LazyOptional<IFluidHandler> fluidInsertionCap = null;
@@ -102,10 +105,13 @@ public class AirGrateModule extends AbstractTubeModule {
         }
 
         Vec3 tileVec = Vec3.atCenterOf(pos).add(getDirection().getStepX() * 0.49, getDirection().getStepY() * 0.49, getDirection().getStepZ() * 0.49);
-        pushEntities(world, pos, tileVec);
+        if (world.isClientSide || entityScan.tick()) {
+            pushEntities(world, pos, tileVec);
+        }
     }
 
     private void onGrateRangeChanged() {
+        entityScan.reset();
         if (!pressureTube.nonNullLevel().isClientSide) {
             getTube().getCapability(PNCCapabilities.AIR_HANDLER_MACHINE_CAPABILITY)
                     .ifPresent(h -> NetworkHandler.sendToAllTracking(new PacketUpdatePressureBlock(getTube(), null, h.getSideLeaking(), h.getAir()), getTube()));
@@ -143,7 +149,7 @@ public class AirGrateModule extends AbstractTubeModule {
 
     private void pushEntities(Level world, BlockPos pos, Vec3 traceVec) {
         AABB bbBox = getAffectedAABB();
-        List<Entity> entities = world.getEntitiesOfClass(Entity.class, bbBox, entityFilter);
+        List<Entity> entities = EntityQueryBroker.getEntitiesOfClass(world, Entity.class, bbBox, entityFilter);
         double d0 = grateRange * 3;
         int entitiesMoved = 0;
         for (Entity entity : entities) {
@@ -168,6 +174,7 @@ public class AirGrateModule extends AbstractTubeModule {
                 if (vacuum) d5 *= -1;
                 if (entity.isOnGround() && entity instanceof ItemEntity) entity.setDeltaMovement(entity.getDeltaMovement().add(0, 0.25, 0));
                 entity.move(MoverType.SELF, new Vec3(x * d5, y * d5, z * d5));
+                EntityQueryBroker.onEntityMoved(entity);
                 entitiesMoved++;
                 if (world.isClientSide && world.random.nextDouble() < 0.2) {
                     if (vacuum) {
@@ -181,6 +188,7 @@ public class AirGrateModule extends AbstractTubeModule {
         if (!world.isClientSide) {
             int usage = pressureTube.getPressure() > 0 ? -PneumaticValues.USAGE_AIR_GRATE : PneumaticValues.USAGE_AIR_GRATE;
             pressureTube.addAir(entitiesMoved * usage);
+            entityScan.onScanned(entities.isEmpty());
         }
     }
 
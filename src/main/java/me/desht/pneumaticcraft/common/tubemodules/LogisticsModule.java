@@ -46,6 +46,7 @@ import net.minecraftforge.fluids.capability.IFluidHandler;
 import net.minecraftforge.items.IItemHandler;
 import net.minecraftforge.items.ItemHandlerHelper;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.PriorityQueue;
@@ -57,6 +58,9 @@ public class LogisticsModule extends AbstractTubeModule implements INetworkedMod
     private int ticksSinceNotEnoughAir = -1;
     private int ticksUntilNextCycle;
     private boolean powered;
+    // kept between cycles, and only rebuilt when the set of frames on the network changes
+    private LogisticsManager manager;
+    private List<AbstractLogisticsFrameEntity> managerFrames = List.of();
 
     public LogisticsModule(Direction dir, PressureTubeBlockEntity pressureTube) {
         super(dir, pressureTube);
@@ -171,7 +175,7 @@ public class LogisticsModule extends AbstractTubeModule implements INetworkedMod
             NetworkHandler.sendToAllTracking(new PacketUpdateLogisticsModule(this, 0), getTube());
         }
         if (--ticksUntilNextCycle <= 0) {
-            LogisticsManager manager = new LogisticsManager();
+            List<AbstractLogisticsFrameEntity> frames = new ArrayList<>();
             Map<Integer, LogisticsModule> frame2module = new Int2ObjectOpenHashMap<>();
             for (AbstractTubeModule module : ModuleNetworkManager.getInstance(getTube().nonNullLevel()).getConnectedModules(this)) {
                 if (module instanceof LogisticsModule logistics) {
@@ -183,12 +187,18 @@ public class LogisticsModule extends AbstractTubeModule implements INetworkedMod
                         if (logistics.hasPower() && logistics.getFrame() != null) {
                             // record the frame->module mapping and add the frame to the logistics manager
                             frame2module.put(logistics.getFrame().getId(), logistics);
-                            manager.addLogisticFrame(logistics.getFrame());
+                            frames.add(logistics.getFrame());
                         }
                     }
                 }
             }
 
+            if (manager == null || !frames.equals(managerFrames)) {
+                manager = new LogisticsManager();
+                frames.forEach(manager::addLogisticFrame);
+                managerFrames = frames;
+            }
+
             PriorityQueue<LogisticsTask> tasks = manager.getTasks(null, false);
             for (LogisticsTask task : tasks) {
                 if (task.isStillValid(task.transportingItem.isEmpty() ? task.transportingFluid : task.transportingItem)) {
@@ -19,6 +19,7 @@ package me.desht.pneumaticcraft.common.tubemodules;
 
 import me.desht.pneumaticcraft.common.block.entity.PressureTubeBlockEntity;
 import me.desht.pneumaticcraft.common.util.DirectionUtil;
+import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.level.Level;
@@ -26,46 +27,128 @@ import net.minecraft.world.level.block.entity.BlockEntity;
 
 import java.util.*;
 
+/**
+ * Tracks the connected components (networks) of pressure tubes in a dimension, and the networked modules in each
+ * network. Networks are discovered lazily, with one flood fill shared by every module in the network. Placing a tube
+ * merges it into its neighbouring networks; anything which might split a network (removing a tube, closing a side,
+ * changing modules) just forgets the networks around that position, to be rediscovered when next needed. Networks
+ * elsewhere in the dimension are unaffected.
+ */
 public class ModuleNetworkManager {
     private static final Map<ResourceLocation, ModuleNetworkManager> INSTANCES = new HashMap<>();
 
-    private final Map<AbstractTubeModule, Set<AbstractTubeModule>> connectionCache = new HashMap<>();
-    private boolean needInvalidate = false;
+    private final Map<BlockPos, TubeNetwork> networks = new HashMap<>();
 
     public static ModuleNetworkManager getInstance(Level w) {
         return INSTANCES.computeIfAbsent(w.dimension().location(), dimId -> new ModuleNetworkManager());
     }
 
     Set<AbstractTubeModule> getConnectedModules(AbstractTubeModule module) {
-        if (needInvalidate) {
-            connectionCache.clear();
-            needInvalidate = false;
+        TubeNetwork network = networks.get(module.getTube().getBlockPos());
+        if (network == null) {
+            network = discoverNetwork(module.getTube());
         }
-        return connectionCache.computeIfAbsent(module, this::computeConnections);
+        return network.getModules(module.getClass());
     }
 
+    /**
+     * Forget all known networks in this dimension.
+     */
     public void invalidateCache() {
-        needInvalidate = true;
+        networks.clear();
+    }
+
+    /**
+     * Forget the networks at and adjacent to the given position. Call this when a tube is removed, or when a tube's
+     * connections or networked modules change.
+     *
+     * @param pos the position of the tube which changed
+     */
+    public void invalidateCache(BlockPos pos) {
+        if (networks.isEmpty()) return;
+        forgetNetwork(networks.get(pos));
+        for (Direction dir : DirectionUtil.VALUES) {
+            forgetNetwork(networks.get(pos.relative(dir)));
+        }
     }
 
-    private Set<AbstractTubeModule> computeConnections(AbstractTubeModule module) {
-        Set<AbstractTubeModule> modules = new HashSet<>();
+    /**
+     * A new tube has been placed, and has already worked out its connections. Merge it, and all the networks it
+     * connects, into a single network.
+     *
+     * @param tube the new tube
+     */
+    public void onTubePlaced(PressureTubeBlockEntity tube) {
+        List<TubeNetwork> adjacent = new ArrayList<>();
+        for (Direction dir : DirectionUtil.VALUES) {
+            if (tube.getConnectedNeighbor(dir) instanceof PressureTubeBlockEntity neighbour) {
+                TubeNetwork network = networks.get(neighbour.getBlockPos());
+                if (network == null) {
+                    // the neighbour's network hasn't been discovered yet, so we can't merge with it;
+                    // leave the whole lot to be discovered when next needed
+                    invalidateCache(tube.getBlockPos());
+                    return;
+                }
+                if (!adjacent.contains(network)) adjacent.add(network);
+            }
+        }
+        if (adjacent.isEmpty()) return;
+
+        TubeNetwork merged = adjacent.stream().max(Comparator.comparingInt(n -> n.tubes.size())).orElseThrow();
+        for (TubeNetwork network : adjacent) {
+            if (network != merged) {
+                network.tubes.forEach(pos -> networks.put(pos, merged));
+                merged.tubes.addAll(network.tubes);
+                merged.modules.addAll(network.modules);
+            }
+        }
+        merged.addTube(tube);
+        networks.put(tube.getBlockPos(), merged);
+    }
+
+    private void forgetNetwork(TubeNetwork network) {
+        if (network != null) {
+            network.tubes.forEach(networks::remove);
+        }
+    }
+
+    private TubeNetwork discoverNetwork(PressureTubeBlockEntity start) {
+        TubeNetwork network = new TubeNetwork();
         Set<BlockEntity> traversedTubes = new HashSet<>();
-        Stack<PressureTubeBlockEntity> pendingTubes = new Stack<>();
-        pendingTubes.push(module.getTube());
+        Deque<PressureTubeBlockEntity> pendingTubes = new ArrayDeque<>();
+        pendingTubes.push(start);
+        traversedTubes.add(start);
         while (!pendingTubes.isEmpty()) {
             PressureTubeBlockEntity tube = pendingTubes.pop();
-            tube.tubeModules()
-                    .filter(tm -> tm instanceof INetworkedModule && module.getClass() == tm.getClass())
-                    .forEach(modules::add);
+            network.addTube(tube);
+            networks.put(tube.getBlockPos(), network);
             for (Direction dir : DirectionUtil.VALUES) {
                 BlockEntity newTube = tube.getConnectedNeighbor(dir);
-                if (newTube instanceof PressureTubeBlockEntity && !traversedTubes.contains(newTube)) {
-                    pendingTubes.add((PressureTubeBlockEntity) newTube);
-                    traversedTubes.add(newTube);
+                if (newTube instanceof PressureTubeBlockEntity && traversedTubes.add(newTube)) {
+                    pendingTubes.push((PressureTubeBlockEntity) newTube);
                 }
             }
         }
-        return modules;
+        return network;
+    }
+
+    private static class TubeNetwork {
+        private final Set<BlockPos> tubes = new HashSet<>();
+        private final List<AbstractTubeModule> modules = new ArrayList<>();
+        private final Map<Class<?>, Set<AbstractTubeModule>> modulesByType = new HashMap<>();
+
+        void addTube(PressureTubeBlockEntity tube) {
+            tubes.add(tube.getBlockPos());
+            tube.tubeModules().filter(tm -> tm instanceof INetworkedModule).forEach(modules::add);
+            modulesByType.clear();
+        }
+
+        Set<AbstractTubeModule> getModules(Class<?> moduleType) {
+            return modulesByType.computeIfAbsent(moduleType, k -> {
+                Set<AbstractTubeModule> res = new HashSet<>();
+                modules.stream().filter(tm -> tm.getClass() == moduleType).forEach(res::add);
+                return res;
+            });
+        }
     }
 }
@@ -0,0 +1,261 @@
+/*
+ * This file is part of pnc-repressurized.
+ *
+ *     pnc-repressurized is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     pnc-repressurized is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with pnc-repressurized.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.desht.pneumaticcraft.common.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Reference2LongMap;
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
+import me.desht.pneumaticcraft.api.lib.Names;
+import me.desht.pneumaticcraft.common.config.ConfigHelper;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntitySelector;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Server side entity query service shared by all of our area scanners (hoppers, air grates, sentry turrets...).
+ * Entities are collected into per-section buckets the first time any scanner touches a section in a given tick, so
+ * overlapping scan boxes walk the level's entity sections only once per tick; each caller then gets its own filtered
+ * view of the buckets.
+ * <p>
+ * Each entity is assigned to exactly one bucket per tick (the section it was in when first bucketed), so a query never
+ * returns the same entity twice. Anything which moves entities during the block entity phase should call
+ * {@link #onEntityMoved(Entity)} afterwards, so the entity is rehomed into the bucket for its new section; entities
+ * moved by other means are still found by their old section until the end of the tick.
+ * <p>
+ * Buckets are discarded at the end of every server tick. Entities which spawn in a bucketed section later in the same
+ * tick won't be seen until the next tick, which is fine for the periodic scanners this is intended for. Multipart
+ * sub-entities (e.g. ender dragon parts) are not included.
+ */
+@Mod.EventBusSubscriber(modid = Names.MOD_ID)
+public class EntityQueryBroker {
+    // don't bother bucketing anything larger than this; just let vanilla handle it directly
+    private static final int MAX_QUERY_SECTIONS = 512;
+
+    private static final Map<ServerLevel, LevelBuckets> buckets = new HashMap<>();
+
+    /**
+     * Drop-in replacement for {@link Level#getEntitiesOfClass(Class, AABB)}.
+     *
+     * @param level the level
+     * @param cls the entity class to search for
+     * @param aabb the area to search
+     * @param <T> entity type
+     * @return a new list of matching entities
+     */
+    public static <T extends Entity> List<T> getEntitiesOfClass(Level level, Class<T> cls, AABB aabb) {
+        return getEntitiesOfClass(level, cls, aabb, EntitySelector.NO_SPECTATORS);
+    }
+
+    /**
+     * Drop-in replacement for {@link Level#getEntitiesOfClass(Class, AABB, Predicate)}. Client side queries, and all
+     * queries when disabled in config, are passed straight through to the level.
+     *
+     * @param level the level
+     * @param cls the entity class to search for
+     * @param aabb the area to search
+     * @param filter further filter applied to each entity found
+     * @param <T> entity type
+     * @return a new list of matching entities
+     */
+    public static <T extends Entity> List<T> getEntitiesOfClass(Level level, Class<T> cls, AABB aabb, Predicate<? super T> filter) {
+        if (!(level instanceof ServerLevel serverLevel) || !ConfigHelper.common().advanced.sharedEntityQueries.get()) {
+            return level.getEntitiesOfClass(cls, aabb, filter);
+        }
+
+        // same section range that vanilla walks: entities are bucketed by position, but their bounding boxes overhang
+        int x0 = SectionPos.blockToSectionCoord(Mth.floor(aabb.minX - 2.0));
+        int y0 = SectionPos.blockToSectionCoord(Mth.floor(aabb.minY - 4.0));
+        int z0 = SectionPos.blockToSectionCoord(Mth.floor(aabb.minZ - 2.0));
+        int x1 = SectionPos.blockToSectionCoord(Mth.floor(aabb.maxX + 2.0));
+        int y1 = SectionPos.blockToSectionCoord(Mth.floor(aabb.maxY));
+        int z1 = SectionPos.blockToSectionCoord(Mth.floor(aabb.maxZ + 2.0));
+        if ((long) (x1 - x0 + 1) * (y1 - y0 + 1) * (z1 - z0 + 1) > MAX_QUERY_SECTIONS) {
+            return level.getEntitiesOfClass(cls, aabb, filter);
+        }
+
+        LevelBuckets levelBuckets = buckets.computeIfAbsent(serverLevel, k -> new LevelBuckets());
+        fillMissingBuckets(serverLevel, levelBuckets, x0, y0, z0, x1, y1, z1);
+
+        List<T> res = new ArrayList<>();
+        for (int sx = x0; sx <= x1; sx++) {
+            for (int sy = y0; sy <= y1; sy++) {
+                for (int sz = z0; sz <= z1; sz++) {
+                    for (Entity entity : levelBuckets.sections.get(SectionPos.asLong(sx, sy, sz))) {
+                        if (!entity.isRemoved() && cls.isInstance(entity) && entity.getBoundingBox().intersects(aabb)) {
+                            T t = cls.cast(entity);
+                            if (filter.test(t)) res.add(t);
+                        }
+                    }
+                }
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Tell the broker that an entity has just been moved, so that it's found in the right bucket by any later queries
+     * this tick. Call this after moving entities during the block entity phase (e.g. air grates pushing entities);
+     * does nothing client side or if nothing has been bucketed yet.
+     *
+     * @param entity the entity which was moved
+     */
+    public static void onEntityMoved(Entity entity) {
+        if (entity.level instanceof ServerLevel serverLevel) {
+            LevelBuckets levelBuckets = buckets.get(serverLevel);
+            if (levelBuckets != null) levelBuckets.relocate(entity);
+        }
+    }
+
+    private static void fillMissingBuckets(ServerLevel level, LevelBuckets levelBuckets, int x0, int y0, int z0, int x1, int y1, int z1) {
+        LongSet missing = null;
+        int mx0 = Integer.MAX_VALUE, my0 = Integer.MAX_VALUE, mz0 = Integer.MAX_VALUE;
+        int mx1 = Integer.MIN_VALUE, my1 = Integer.MIN_VALUE, mz1 = Integer.MIN_VALUE;
+        for (int sx = x0; sx <= x1; sx++) {
+            for (int sy = y0; sy <= y1; sy++) {
+                for (int sz = z0; sz <= z1; sz++) {
+                    long key = SectionPos.asLong(sx, sy, sz);
+                    if (!levelBuckets.sections.containsKey(key)) {
+                        if (missing == null) missing = new LongOpenHashSet();
+                        missing.add(key);
+                        levelBuckets.sections.put(key, new ArrayList<>());
+                        mx0 = Math.min(mx0, sx); my0 = Math.min(my0, sy); mz0 = Math.min(mz0, sz);
+                        mx1 = Math.max(mx1, sx); my1 = Math.max(my1, sy); mz1 = Math.max(mz1, sz);
+                    }
+                }
+            }
+        }
+        if (missing == null) return;
+
+        // one walk over the level's entity sections for the whole missing region; any entity positioned in a missing
+        // section must intersect this box, so each missing bucket ends up complete
+        AABB fetchBox = new AABB(SectionPos.sectionToBlockCoord(mx0), SectionPos.sectionToBlockCoord(my0), SectionPos.sectionToBlockCoord(mz0),
+                SectionPos.sectionToBlockCoord(mx1 + 1), SectionPos.sectionToBlockCoord(my1 + 1), SectionPos.sectionToBlockCoord(mz1 + 1));
+        LongSet toFill = missing;
+        level.getEntities().get(fetchBox, entity -> {
+            long key = SectionPos.asLong(entity.blockPosition());
+            // an entity already bucketed elsewhere this tick (it has moved since) stays where it is
+            if (toFill.contains(key) && !levelBuckets.assigned.containsKey(entity)) {
+                levelBuckets.assign(entity, key);
+            }
+        });
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END && !buckets.isEmpty()) {
+            buckets.clear();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        if (event.getWorld() instanceof ServerLevel level) {
+            buckets.remove(level);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        buckets.clear();
+    }
+
+    private static class LevelBuckets {
+        private final Long2ObjectMap<List<Entity>> sections = new Long2ObjectOpenHashMap<>();
+        // the one bucket each entity lives in this tick, by identity
+        private final Reference2LongMap<Entity> assigned = new Reference2LongOpenHashMap<>();
+
+        private void assign(Entity entity, long key) {
+            sections.get(key).add(entity);
+            assigned.put(entity, key);
+        }
+
+        private void relocate(Entity entity) {
+            long newKey = SectionPos.asLong(entity.blockPosition());
+            if (assigned.containsKey(entity)) {
+                long oldKey = assigned.getLong(entity);
+                if (oldKey == newKey) return;
+                sections.get(oldKey).remove(entity);
+                assigned.removeLong(entity);
+            }
+            // if the new section hasn't been bucketed yet, it'll pick the entity up when it is
+            if (sections.containsKey(newKey)) {
+                assign(entity, newKey);
+            }
+        }
+    }
+
+    /**
+     * Helper for periodic scanners which have nothing to do most of the time: the scan interval doubles after each
+     * scan which found nothing of interest, up to a maximum, and drops straight back to the minimum once something
+     * is found.
+     */
+    public static class ScanBackoff {
+        private final int minInterval;
+        private final int maxInterval;
+        private int interval;
+        private int countdown;
+
+        public ScanBackoff(int minInterval, int maxInterval) {
+            this.minInterval = minInterval;
+            this.maxInterval = Math.max(minInterval, maxInterval);
+            this.interval = minInterval;
+        }
+
+        /**
+         * Call once per tick.
+         *
+         * @return true if a scan should be done this tick
+         */
+        public boolean tick() {
+            return --countdown <= 0;
+        }
+
+        /**
+         * Call after each scan.
+         *
+         * @param idle true if the scan found nothing to act on
+         */
+        public void onScanned(boolean idle) {
+            interval = idle ? Math.min(maxInterval, interval * 2) : minInterval;
+            countdown = interval;
+        }
+
+        /**
+         * Force a scan on the next tick, e.g. when the scanned area has changed.
+         */
+        public void reset() {
+            interval = minInterval;
+            countdown = 0;
+        }
+    }
+}
@@ -17,23 +17,30 @@
 
 package me.desht.pneumaticcraft.common.util;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import me.desht.pneumaticcraft.api.lib.Names;
 import me.desht.pneumaticcraft.common.block.entity.AerialInterfaceBlockEntity;
 import me.desht.pneumaticcraft.common.block.entity.ChargingStationBlockEntity;
 import me.desht.pneumaticcraft.common.block.entity.SecurityStationBlockEntity;
 import me.desht.pneumaticcraft.common.block.entity.UniversalSensorBlockEntity;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.LevelAccessor;
 import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.phys.AABB;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.LogicalSide;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.util.thread.EffectiveSide;
 
-import java.util.Collections;
-import java.util.Iterator;
-import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 /**
@@ -60,12 +67,15 @@ public class GlobalTileEntityCacheManager{
 
     public final GlobalTileEntityCache<UniversalSensorBlockEntity> universalSensors = new GlobalTileEntityCache<>();
     public final GlobalTileEntityCache<ChargingStationBlockEntity> chargingStations = new GlobalTileEntityCache<>();
-    public final GlobalTileEntityCache<SecurityStationBlockEntity> securityStations = new GlobalTileEntityCache<>();
+    // only those charging stations which can currently charge a drone; see ChargingStationBlockEntity#isReadyForDrones()
+    public final SpatialTileEntityCache<ChargingStationBlockEntity> readyChargingStations = new SpatialTileEntityCache<>(te -> new AABB(te.getBlockPos(), te.getBlockPos()));
+    public final SpatialTileEntityCache<SecurityStationBlockEntity> securityStations = new SpatialTileEntityCache<>(SecurityStationBlockEntity::getSecurityCoverage);
     public final GlobalTileEntityCache<AerialInterfaceBlockEntity> aerialInterfaces = new GlobalTileEntityCache<>();
 
     private void removeFromWorld(LevelAccessor world){
         universalSensors.removeFromWorld(world);
         chargingStations.removeFromWorld(world);
+        readyChargingStations.removeFromWorld(world);
         securityStations.removeFromWorld(world);
         aerialInterfaces.removeFromWorld(world);
     }
@@ -94,6 +104,132 @@ public class GlobalTileEntityCacheManager{
             return tileEntities.iterator();
         }
     }
+
+    /**
+     * A cache which also indexes its BE's, per dimension, by every chunk that an area of theirs (e.g. a protected
+     * area) overlaps. Queries then only need to look at the BE's whose area might cover the position in question.
+     * Call {@link #update(BlockEntity)} whenever a BE's area changes.
+     */
+    public static class SpatialTileEntityCache<T extends BlockEntity> extends GlobalTileEntityCache<T>{
+        private final Function<T, AABB> areaGetter;
+        private final Map<ResourceKey<Level>, Long2ObjectMap<List<T>>> grids = new HashMap<>();
+        private final Map<T, IndexedArea> indexed = new IdentityHashMap<>();
+
+        public SpatialTileEntityCache(Function<T, AABB> areaGetter){
+            this.areaGetter = areaGetter;
+        }
+
+        @Override
+        public void add(T te){
+            super.add(te);
+            update(te);
+        }
+
+        @Override
+        public void remove(T te){
+            super.remove(te);
+            unindex(te);
+        }
+
+        @Override
+        public void removeFromWorld(LevelAccessor world){
+            super.removeFromWorld(world);
+            List<T> toRemove = indexed.keySet().stream().filter(te -> te.getLevel() == world).toList();
+            toRemove.forEach(this::unindex);
+        }
+
+        /**
+         * Re-index a BE after its area has changed. Does nothing if the BE isn't in this cache.
+         *
+         * @param te the block entity
+         */
+        public void update(T te){
+            unindex(te);
+            Level level = te.getLevel();
+            if (level == null || te.isRemoved()) return;
+
+            AABB aabb = areaGetter.apply(te);
+            IndexedArea area = new IndexedArea(level.dimension(),
+                    SectionPos.blockToSectionCoord(Mth.floor(aabb.minX)), SectionPos.blockToSectionCoord(Mth.floor(aabb.minZ)),
+                    SectionPos.blockToSectionCoord(Mth.floor(aabb.maxX)), SectionPos.blockToSectionCoord(Mth.floor(aabb.maxZ)));
+            Long2ObjectMap<List<T>> grid = grids.computeIfAbsent(area.dimension(), k -> new Long2ObjectOpenHashMap<>());
+            for (int cx = area.minX(); cx <= area.maxX(); cx++) {
+                for (int cz = area.minZ(); cz <= area.maxZ(); cz++) {
+                    grid.computeIfAbsent(ChunkPos.asLong(cx, cz), k -> new ArrayList<>()).add(te);
+                }
+            }
+            indexed.put(te, area);
+        }
+
+        private void unindex(T te){
+            IndexedArea area = indexed.remove(te);
+            if (area == null) return;
+
+            Long2ObjectMap<List<T>> grid = grids.get(area.dimension());
+            for (int cx = area.minX(); cx <= area.maxX(); cx++) {
+                for (int cz = area.minZ(); cz <= area.maxZ(); cz++) {
+                    long key = ChunkPos.asLong(cx, cz);
+                    List<T> l = grid.get(key);
+                    if (l != null && l.remove(te) && l.isEmpty()) {
+                        grid.remove(key);
+                    }
+                }
+            }
+            if (grid.isEmpty()) grids.remove(area.dimension());
+        }
+
+        /**
+         * Get the BE's whose area overlaps the given chunk. This is a superset of those whose area contains any
+         * particular position in the chunk; callers should still check the area itself.
+         *
+         * @param level the level
+         * @param chunkX chunk X coord
+         * @param chunkZ chunk Z coord
+         * @return a list of BE's, which must not be modified
+         */
+        public List<T> getInChunk(Level level, int chunkX, int chunkZ){
+            Long2ObjectMap<List<T>> grid = grids.get(level.dimension());
+            return grid == null ? Collections.emptyList() : grid.getOrDefault(ChunkPos.asLong(chunkX, chunkZ), Collections.emptyList());
+        }
+
+        /**
+         * Get the BE's whose area might contain the given position.
+         *
+         * @param level the level
+         * @param pos the position
+         * @return a stream of candidate BE's
+         */
+        public Stream<T> streamNear(Level level, BlockPos pos){
+            return getInChunk(level, SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ())).stream();
+        }
+
+        /**
+         * Get the BE's whose area might overlap the given box.
+         *
+         * @param level the level
+         * @param aabb the box
+         * @return a stream of candidate BE's, each appearing once
+         */
+        public Stream<T> streamNear(Level level, AABB aabb){
+            int minX = SectionPos.blockToSectionCoord(Mth.floor(aabb.minX));
+            int minZ = SectionPos.blockToSectionCoord(Mth.floor(aabb.minZ));
+            int maxX = SectionPos.blockToSectionCoord(Mth.floor(aabb.maxX));
+            int maxZ = SectionPos.blockToSectionCoord(Mth.floor(aabb.maxZ));
+            if (minX == maxX && minZ == maxZ) {
+                return getInChunk(level, minX, minZ).stream();
+            }
+            Set<T> res = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    res.addAll(getInChunk(level, cx, cz));
+                }
+            }
+            return res.stream();
+        }
+
+        private record IndexedArea(ResourceKey<Level> dimension, int minX, int minZ, int maxX, int maxZ){
+        }
+    }
 }
 
 
@@ -17,29 +17,137 @@
 
 package me.desht.pneumaticcraft.common.util;
 
+import me.desht.pneumaticcraft.common.config.ConfigHelper;
+import me.desht.pneumaticcraft.lib.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class ThreadedSorter<T> extends Thread {
+/**
+ * Sorts a snapshot of a list on a shared, bounded pool of worker threads. The list passed in is copied, and never
+ * modified; once sorting is complete, the sorted copy is available via {@link #getResult()}.
+ * <p>
+ * A result is always published, so callers waiting on {@link #isDone()} never stall: if the comparator throws, or the
+ * sort is discarded because the pool is shut down, the result is the unsorted snapshot instead.
+ * <p>
+ * The pool size is taken from config when the pool is first used, and the pool is discarded when the server stops.
+ */
+public class ThreadedSorter<T> {
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final AtomicLong SORTS_COMPLETED = new AtomicLong();
+    private static final AtomicLong TOTAL_SORT_NANOS = new AtomicLong();
+    private static volatile long lastSortNanos;
+    private static ThreadPoolExecutor executor;
 
-    private boolean isDone;
-    private final List<T> list;
-    private final Comparator<? super T> comparator;
+    private volatile List<T> result;
 
     public ThreadedSorter(List<T> list, Comparator<? super T> comparator) {
-        this.list = list;
-        this.comparator = comparator;
-        setName("PneumaticCraft Drone Area Sorting Thread");
-        start();
+        SortTask<T> task = new SortTask<>(this, new ArrayList<>(list), comparator);
+        try {
+            getExecutor().execute(task);
+        } catch (RejectedExecutionException e) {
+            task.publishUnsorted();
+        }
     }
 
-    @Override
-    public void run() {
-        list.sort(comparator);
-        isDone = true;
+    public boolean isDone() {
+        return result != null;
     }
 
-    public boolean isDone() {
-        return isDone;
+    /**
+     * Get the sorted list.
+     *
+     * @return the sorted (unmodifiable) list, or null if sorting has not finished yet
+     */
+    public List<T> getResult() {
+        return result;
+    }
+
+    private static synchronized ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            int nThreads = ConfigHelper.common().drones.areaSortThreads.get();
+            ThreadFactory factory = r -> {
+                Thread t = new Thread(r, "PneumaticCraft Drone Area Sorter #" + THREAD_COUNTER.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            };
+            executor = new ThreadPoolExecutor(nThreads, nThreads, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    /**
+     * Called when the server is stopping. Any queued sorts are discarded (publishing their unsorted snapshots); the
+     * pool will be recreated (with the current configured size) when next needed.
+     */
+    public static synchronized void shutdown() {
+        if (executor != null) {
+            for (Runnable r : executor.shutdownNow()) {
+                if (r instanceof SortTask<?> task) {
+                    task.publishUnsorted();
+                }
+            }
+            executor = null;
+        }
+    }
+
+    public static synchronized Stats getStats() {
+        long completed = SORTS_COMPLETED.get();
+        return new Stats(
+                executor == null ? 0 : executor.getMaximumPoolSize(),
+                executor == null ? 0 : executor.getActiveCount(),
+                executor == null ? 0 : executor.getQueue().size(),
+                completed,
+                lastSortNanos / 1_000_000.0,
+                completed == 0 ? 0.0 : TOTAL_SORT_NANOS.get() / (completed * 1_000_000.0)
+        );
+    }
+
+    private static class SortTask<T> implements Runnable {
+        private final ThreadedSorter<T> sorter;
+        private final List<T> snapshot;
+        private final Comparator<? super T> comparator;
+
+        private SortTask(ThreadedSorter<T> sorter, List<T> snapshot, Comparator<? super T> comparator) {
+            this.sorter = sorter;
+            this.snapshot = snapshot;
+            this.comparator = comparator;
+        }
+
+        @Override
+        public void run() {
+            // sort a copy: a comparator failure can leave a partially merged list with duplicated elements
+            List<T> sorted = new ArrayList<>(snapshot);
+            try {
+                long start = System.nanoTime();
+                sorted.sort(comparator);
+                long elapsed = System.nanoTime() - start;
+                lastSortNanos = elapsed;
+                TOTAL_SORT_NANOS.addAndGet(elapsed);
+                SORTS_COMPLETED.incrementAndGet();
+                sorter.result = Collections.unmodifiableList(sorted);
+            } catch (RuntimeException e) {
+                Log.error("area sort failed, using unsorted order: %s", e);
+            } finally {
+                if (sorter.result == null) publishUnsorted();
+            }
+        }
+
+        private void publishUnsorted() {
+            sorter.result = Collections.unmodifiableList(snapshot);
+        }
+    }
+
+    public record Stats(int poolSize, int active, int queued, long completed, double lastSortMs, double avgSortMs) {
     }
 }